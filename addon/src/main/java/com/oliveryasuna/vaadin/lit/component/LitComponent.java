@@ -19,6 +19,7 @@
 package com.oliveryasuna.vaadin.lit.component;
 
 import com.oliveryasuna.vaadin.lit.model.LitModel;
+import com.oliveryasuna.vaadin.lit.model.factory.LitModelFactory;
 import com.oliveryasuna.vaadin.lit.model.proxy.DefaultLitModelInvocationHandler;
 
 // TODO: Javadoc.
@@ -31,4 +32,8 @@ public abstract class LitComponent<M extends LitModel> extends LitComponentBase<
     super(DefaultLitModelInvocationHandler.getInstance());
   }
 
+  protected LitComponent(final LitModelFactory modelFactory) {
+    super(DefaultLitModelInvocationHandler.getInstance(), modelFactory);
+  }
+
 }
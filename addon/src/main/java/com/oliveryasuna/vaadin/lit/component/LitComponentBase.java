@@ -18,19 +18,29 @@
 
 package com.oliveryasuna.vaadin.lit.component;
 
-import com.googlecode.gentyref.GenericTypeReflector;
 import com.oliveryasuna.commons.language.condition.Arguments;
 import com.oliveryasuna.vaadin.lit.model.LitModel;
+import com.oliveryasuna.vaadin.lit.model.LitSharedModel;
+import com.oliveryasuna.vaadin.lit.model.factory.LitModelFactory;
+import com.oliveryasuna.vaadin.lit.model.factory.PrecompiledLitModelFactory;
+import com.oliveryasuna.vaadin.lit.model.jfr.LitModelCreationEvent;
+import com.oliveryasuna.vaadin.lit.model.metrics.LitModelMetrics;
+import com.oliveryasuna.vaadin.lit.model.property.LitPropertySynchronization;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitAsyncModelBinding;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelBinding;
 import com.oliveryasuna.vaadin.lit.model.proxy.LitModelInvocationHandler;
-import com.oliveryasuna.vaadin.lit.model.proxy.LitModelProxyComponentRegistry;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitPublisherSubscriber;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitUpdateScheduler;
 import com.oliveryasuna.vaadin.lit.model.proxy.annotation.LitAnnotationHandler;
 import com.vaadin.flow.component.littemplate.LitTemplate;
+import com.vaadin.flow.function.SerializableBiConsumer;
+import com.vaadin.flow.shared.Registration;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
 import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 
 // TODO: Javadoc.
 // TODO: Give thanks to Syam Pillai for inspiring something like this. https://github.com/syampillai/SOHelper/blob/master/src/main/java/com/storedobject/helper/LitComponent.java
@@ -40,16 +50,31 @@ public abstract class LitComponentBase<M extends LitModel> extends LitTemplate {
   // Constructors
   //--------------------------------------------------
 
-  protected LitComponentBase(final LitModelInvocationHandler modelInvocationHandler) {
+  protected LitComponentBase(final LitModelInvocationHandler modelInvocationHandler, final LitModelFactory modelFactory) {
     super();
 
     Arguments.requireNotNull(modelInvocationHandler);
+    Arguments.requireNotNull(modelFactory);
 
     this.modelInvocationHandler = modelInvocationHandler;
+    this.modelFactory = modelFactory;
+
+    // Validates the model type declared by the type argument now, so that invalid models fail here.
+    // getModelType() is overridable, so it is only called once the subclass is constructed.
+    final Class<? extends LitModel> declaredModelType = LitComponentMetadata.getDeclaredModelType(getClass());
+
+    if(declaredModelType != null) LitComponentMetadata.of(declaredModelType, modelInvocationHandler, modelFactory);
+
+    // The synchronization listeners must be registered before the client sends any changes.
+    getElement().getNode().runWhenAttached(ui -> getMetadata());
+  }
+
+  protected LitComponentBase(final LitModelInvocationHandler modelInvocationHandler) {
+    this(modelInvocationHandler, PrecompiledLitModelFactory.getInstance());
   }
 
   protected LitComponentBase(final Map<Class<? extends Annotation>, LitAnnotationHandler> annotationHandlers) {
-    this(new LitModelInvocationHandler(annotationHandlers));
+    this(LitModelInvocationHandler.of(annotationHandlers));
   }
 
   // Fields
@@ -57,48 +82,219 @@ public abstract class LitComponentBase<M extends LitModel> extends LitTemplate {
 
   private final LitModelInvocationHandler modelInvocationHandler;
 
+  private final LitModelFactory modelFactory;
+
+  private transient LitComponentMetadata metadata;
+
+  /**
+   * Listeners are part of the element state, so they are registered once per instance, and not again after deserialization.
+   */
+  private boolean propertySynchronizationsRegistered;
+
+  /**
+   * Serialized, because updates that wait for the next response refer to it.
+   * The models are rebuilt on demand.
+   */
+  private LitModelBinding binding;
+
   private transient M model;
 
+  /**
+   * Whether {@link #model} was created while metrics were enabled.
+   */
+  private transient boolean modelMetered;
+
+  private transient M batchModel;
+
+  private LitAsyncModelBinding asyncBinding;
+
+  private transient volatile M asyncModel;
+
   // Methods
   //--------------------------------------------------
 
+  /**
+   * Updates the model in one transaction.
+   * <p>
+   * Updates must be made through the model that is passed to {@code updates}; only the last write to each property is applied.
+   *
+   * @param updates The updates.
+   */
+  protected final void batch(final Consumer<? super M> updates) {
+    Arguments.requireNotNull(updates);
+
+    final M batchModel = getBatchModel();
+
+    getBinding().batch(() -> updates.accept(batchModel));
+  }
+
+  /**
+   * Writes the values of a publisher to the model, through {@link #getAsyncModel()}.
+   * <p>
+   * The subscription is cancelled when the component is detached.
+   *
+   * @param publisher The publisher.
+   * @param setter    Writes a value to the model.
+   * @param <T>       The type of the values.
+   * @return A registration that cancels the subscription.
+   * @see LitPublisherSubscriber
+   */
+  protected final <T> Registration bind(final Flow.Publisher<? extends T> publisher, final SerializableBiConsumer<? super M, ? super T> setter) {
+    Arguments.requireNotNull(publisher);
+    Arguments.requireNotNull(setter);
+
+    final M asyncModel = getAsyncModel();
+    final LitPublisherSubscriber<M, T> subscriber = new LitPublisherSubscriber<>(asyncBinding, asyncModel, setter);
+
+    publisher.subscribe(subscriber);
+
+    return subscriber;
+  }
+
+  /**
+   * Binds the component to a shared model.
+   * <p>
+   * The component receives the state of the shared model when it is attached, and its updates, through {@link #getAsyncModel()}, while it is attached.
+   *
+   * @param sharedModel The shared model.
+   * @return A registration that unbinds the component.
+   * @see LitSharedModel
+   */
+  protected final Registration bind(final LitSharedModel<? super M> sharedModel) {
+    Arguments.requireNotNull(sharedModel);
+
+    final M asyncModel = getAsyncModel();
+
+    return sharedModel.bind(asyncBinding, asyncModel);
+  }
+
   @SuppressWarnings("unchecked")
-  private M createModelInstance() {
-    final Class<? extends M> modelType = getModelType();
+  private M createModelInstance(final boolean metered) {
+    final LitModelCreationEvent event = new LitModelCreationEvent();
+
+    event.begin();
 
-    // TODO: Will this work for interfaces that extend LitModel?
-    final M model = (M)Proxy.newProxyInstance(modelType.getClassLoader(), new Class[] {modelType}, modelInvocationHandler);
+    final M model = (M)getMetadata().getModelInstantiator(metered).instantiate(getBinding());
 
-    LitModelProxyComponentRegistry.getInstance().put(model, this);
+    if(event.shouldCommit()) {
+      event.componentClass = getClass();
+      event.modelClass = getMetadata().getModelType();
+      event.factoryClass = modelFactory.getClass();
+      event.commit();
+    }
 
     return model;
   }
 
+  @SuppressWarnings("unchecked")
+  private M createBatchModelInstance() {
+    // Generated implementations write to the element directly, so transactions always go through the binding.
+    return (M)getBinding().createTransactionalModel();
+  }
+
+  /**
+   * Creates the asynchronous model once, even if {@link #getAsyncModel()} is first called by several threads at the same time.
+   */
+  @SuppressWarnings("unchecked")
+  private synchronized M createAsyncModelInstance() {
+    if(asyncModel != null) return asyncModel;
+
+    if(asyncBinding == null) asyncBinding = new LitAsyncModelBinding(getBinding(), getUpdatePriority());
+
+    // Published last, so that a thread that sees the model also sees the binding.
+    final M asyncModel = (M)asyncBinding.createModel();
+
+    this.asyncModel = asyncModel;
+
+    return asyncModel;
+  }
+
+  private LitModelBinding getBinding() {
+    return (binding != null ? binding : (binding = modelInvocationHandler.bind(this, getMetadata().getMethodTable())));
+  }
+
+  private M getBatchModel() {
+    return (batchModel != null ? batchModel : (batchModel = createBatchModelInstance()));
+  }
+
+  private LitComponentMetadata getMetadata() {
+    if(metadata != null) return metadata;
+
+    metadata = LitComponentMetadata.of(getModelType(), modelInvocationHandler, modelFactory);
+
+    if(!propertySynchronizationsRegistered) {
+      propertySynchronizationsRegistered = true;
+
+      for(final LitPropertySynchronization propertySynchronization : metadata.getPropertySynchronizations()) {
+        propertySynchronization.register(getElement());
+      }
+    }
+
+    return metadata;
+  }
+
   /**
    * Gets the type of the model.
    * <p>
    * This method can, and should, be overridden.
+   * It is called once per instance, after the component is constructed.
    *
    * @return The type of the model.
    */
   @SuppressWarnings("unchecked")
   protected Class<? extends M> getModelType() {
-    final Type type = GenericTypeReflector.getTypeParameter(getClass().getGenericSuperclass(), LitComponentBase.class.getTypeParameters()[0]);
+    final Class<? extends LitModel> modelType = LitComponentMetadata.getDeclaredModelType(getClass());
 
-    if(type instanceof Class || type instanceof ParameterizedType) {
-      return (Class<M>)GenericTypeReflector.erase(type);
-    }
+    if(modelType != null) return (Class<? extends M>)modelType;
+
+    final Type type = LitComponentMetadata.getModelTypeArgument(getClass());
 
     if(type == null) throw new IllegalStateException("Raw parameterized type.");
 
     throw new IllegalStateException("Unsupported parameterized type [" + type.getTypeName() + "].");
   }
 
+  /**
+   * Gets the priority of the flushes of {@link #getAsyncModel()}, relative to the other components of the UI.
+   * <p>
+   * This method can be overridden.
+   * It is called once per instance, when the asynchronous model is first created.
+   *
+   * @return The priority, {@code 0} by default.
+   * @see LitUpdateScheduler
+   */
+  protected int getUpdatePriority() {
+    return 0;
+  }
+
   // Getters/setters
   //--------------------------------------------------
 
   protected final M getModel() {
-    return (model != null ? model : (model = createModelInstance()));
+    final boolean metered = LitModelMetrics.getInstance().isEnabled();
+
+    if(model == null || modelMetered != metered) {
+      model = createModelInstance(metered);
+      modelMetered = metered;
+    }
+
+    return model;
+  }
+
+  /**
+   * Gets a model that may be called from any thread.
+   * <p>
+   * Calls are applied at the next tick of the {@link LitUpdateScheduler} of the UI.
+   * A getter throws {@link IllegalStateException} if its value is neither pending, readable under the session lock, nor flushed before.
+   * The first call must be made while the session is locked.
+   *
+   * @return The asynchronous model.
+   * @see LitAsyncModelBinding
+   */
+  protected final M getAsyncModel() {
+    final M asyncModel = this.asyncModel;
+
+    return (asyncModel != null ? asyncModel : createAsyncModelInstance());
   }
 
 }
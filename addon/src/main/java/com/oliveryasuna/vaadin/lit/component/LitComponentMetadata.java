@@ -0,0 +1,168 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.component;
+
+import com.googlecode.gentyref.GenericTypeReflector;
+import com.oliveryasuna.commons.language.marker.Immutable;
+import com.oliveryasuna.vaadin.lit.model.LitModel;
+import com.oliveryasuna.vaadin.lit.model.factory.LitModelFactory;
+import com.oliveryasuna.vaadin.lit.model.factory.LitModelInstantiator;
+import com.oliveryasuna.vaadin.lit.model.factory.ProxyLitModelFactory;
+import com.oliveryasuna.vaadin.lit.model.property.LitPropertySynchronization;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelInvocationHandler;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelMethodTable;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Everything a {@link LitComponentBase} needs to create its model, resolved once per model type, invocation handler and model factory.
+ */
+@Immutable
+final class LitComponentMetadata {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final ClassValue<Optional<Class<? extends LitModel>>> DECLARED_MODEL_TYPES = new ClassValue<>() {
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Optional<Class<? extends LitModel>> computeValue(final Class<?> componentType) {
+      final Type type = getModelTypeArgument(componentType);
+
+      return (type instanceof Class || type instanceof ParameterizedType
+          ? Optional.of((Class<? extends LitModel>)GenericTypeReflector.erase(type))
+          : Optional.empty());
+    }
+  };
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Gets the model type that a component class declares by its type argument, without calling {@link LitComponentBase#getModelType()}.
+   *
+   * @param componentType The component class.
+   * @return The model type, or {@code null} if the type argument is missing or not a class.
+   */
+  static Class<? extends LitModel> getDeclaredModelType(final Class<?> componentType) {
+    return DECLARED_MODEL_TYPES.get(componentType).orElse(null);
+  }
+
+  static Type getModelTypeArgument(final Class<?> componentType) {
+    return GenericTypeReflector.getTypeParameter(componentType.getGenericSuperclass(), LitComponentBase.class.getTypeParameters()[0]);
+  }
+
+  /**
+   * Gets the metadata of a model type, compiling and validating it the first time.
+   *
+   * @param modelType              The model type.
+   * @param modelInvocationHandler The invocation handler.
+   * @param modelFactory           The model factory.
+   * @return The metadata.
+   * @throws com.oliveryasuna.vaadin.lit.exception.LitModelException If the model type is invalid.
+   */
+  static LitComponentMetadata of(final Class<? extends LitModel> modelType, final LitModelInvocationHandler modelInvocationHandler,
+      final LitModelFactory modelFactory) {
+    final LitModelMethodTable methodTable = modelInvocationHandler.compile(modelType);
+
+    return methodTable.getState(modelFactory, () -> resolve(modelType, modelInvocationHandler, modelFactory, methodTable));
+  }
+
+  private static <M extends LitModel> LitComponentMetadata resolve(final Class<M> modelType, final LitModelInvocationHandler modelInvocationHandler,
+      final LitModelFactory modelFactory, final LitModelMethodTable methodTable) {
+    final LitModelInstantiator<M> modelInstantiator = modelFactory.prepare(modelType, methodTable);
+    final LitModelInstantiator<M> meteredModelInstantiator = (modelFactory == ProxyLitModelFactory.getInstance()
+        ? modelInstantiator
+        : ProxyLitModelFactory.getInstance().prepare(modelType, methodTable));
+
+    return new LitComponentMetadata(modelType, modelInvocationHandler, modelFactory, methodTable, modelInstantiator, meteredModelInstantiator,
+        LitPropertySynchronization.of(methodTable));
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private LitComponentMetadata(final Class<? extends LitModel> modelType, final LitModelInvocationHandler modelInvocationHandler,
+      final LitModelFactory modelFactory, final LitModelMethodTable methodTable, final LitModelInstantiator<?> modelInstantiator,
+      final LitModelInstantiator<?> meteredModelInstantiator, final List<LitPropertySynchronization> propertySynchronizations) {
+    super();
+
+    this.modelType = modelType;
+    this.modelInvocationHandler = modelInvocationHandler;
+    this.modelFactory = modelFactory;
+    this.methodTable = methodTable;
+    this.modelInstantiator = modelInstantiator;
+    this.meteredModelInstantiator = meteredModelInstantiator;
+    this.propertySynchronizations = propertySynchronizations;
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Class<? extends LitModel> modelType;
+
+  private final LitModelInvocationHandler modelInvocationHandler;
+
+  private final LitModelFactory modelFactory;
+
+  private final LitModelMethodTable methodTable;
+
+  private final LitModelInstantiator<?> modelInstantiator;
+
+  /**
+   * Creates proxies, which go through {@link com.oliveryasuna.vaadin.lit.model.metrics.LitModelMetrics}.
+   */
+  private final LitModelInstantiator<?> meteredModelInstantiator;
+
+  private final List<LitPropertySynchronization> propertySynchronizations;
+
+  // Getters
+  //--------------------------------------------------
+
+  Class<? extends LitModel> getModelType() {
+    return modelType;
+  }
+
+  LitModelInvocationHandler getModelInvocationHandler() {
+    return modelInvocationHandler;
+  }
+
+  LitModelFactory getModelFactory() {
+    return modelFactory;
+  }
+
+  LitModelMethodTable getMethodTable() {
+    return methodTable;
+  }
+
+  /**
+   * @param metered Whether metrics are enabled.
+   */
+  LitModelInstantiator<?> getModelInstantiator(final boolean metered) {
+    return (metered ? meteredModelInstantiator : modelInstantiator);
+  }
+
+  List<LitPropertySynchronization> getPropertySynchronizations() {
+    return propertySynchronizations;
+  }
+
+}
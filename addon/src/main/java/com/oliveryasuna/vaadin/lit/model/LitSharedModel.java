@@ -0,0 +1,404 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model;
+
+import com.oliveryasuna.commons.language.condition.Arguments;
+import com.oliveryasuna.vaadin.lit.exception.LitModelException;
+import com.oliveryasuna.vaadin.lit.exception.LitModelMethodSignatureException;
+import com.oliveryasuna.vaadin.lit.model.proxy.DefaultLitModelInvocationHandler;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitAsyncModelBinding;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelInvocationHandler;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelMethodInvoker;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelMethodTable;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelObjectMethods;
+import com.oliveryasuna.vaadin.lit.model.proxy.annotation.LitPropertyMethodInvoker;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.shared.Registration;
+import elemental.json.Json;
+import elemental.json.JsonNull;
+import elemental.json.JsonValue;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A model whose state is shared by many components, in any number of UIs and sessions.
+ * The {@link #getModel() model} may be called from any thread; updates are applied to each bound component at the next tick of its UI.
+ *
+ * @param <M> The type of the model.
+ */
+public final class LitSharedModel<M extends LitModel> {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String UNSHARED_GETTER_EXCEPTION_MESSAGE_FORMAT = "" +
+      "Model method [%s] cannot be shared, because property [%s] is not stored in the element.";
+
+  private static final String UNSHARED_FUNCTION_EXCEPTION_MESSAGE_FORMAT = "Model method [%s] cannot be shared, because it returns a result.";
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static void validate(final LitModelMethodTable methodTable) {
+    for(final Map.Entry<Method, LitModelMethodInvoker> entry : methodTable.getInvokers().entrySet()) {
+      final Method method = entry.getKey();
+
+      if(entry.getValue() instanceof LitPropertyMethodInvoker) {
+        final LitPropertyMethodInvoker propertyInvoker = (LitPropertyMethodInvoker)entry.getValue();
+
+        // The getter would return the state of the shared model itself.
+        if(propertyInvoker.isGetter() && !propertyInvoker.isElementProperty())
+          throw new LitModelMethodSignatureException(methodTable.getModelType(), String.format(UNSHARED_GETTER_EXCEPTION_MESSAGE_FORMAT,
+              method.getName(), propertyInvoker.getPropertyName()));
+      } else if(!method.getReturnType().equals(Void.TYPE)) {
+        throw new LitModelMethodSignatureException(methodTable.getModelType(), String.format(UNSHARED_FUNCTION_EXCEPTION_MESSAGE_FORMAT, method.getName()));
+      }
+    }
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  /**
+   * @throws LitModelMethodSignatureException If the model type has a method that cannot be shared.
+   */
+  public LitSharedModel(final Class<M> modelType, final LitModelInvocationHandler invocationHandler) {
+    super();
+
+    Arguments.requireNotNull(modelType);
+    Arguments.requireNotNull(invocationHandler);
+
+    this.methodTable = invocationHandler.compile(modelType);
+
+    validate(methodTable);
+
+    this.model = modelType.cast(Proxy.newProxyInstance(modelType.getClassLoader(), new Class<?>[] {modelType}, new SharedInvocationHandler()));
+  }
+
+  public LitSharedModel(final Class<M> modelType) {
+    this(modelType, DefaultLitModelInvocationHandler.getInstance());
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final LitModelMethodTable methodTable;
+
+  private final M model;
+
+  /**
+   * Holds the shared state.
+   * Handlers that keep per-component state keep it in this component.
+   */
+  private final StateComponent state = new StateComponent();
+
+  /**
+   * The last write to each property, in order of first write.
+   */
+  private final Map<String, Write> writes = new LinkedHashMap<>();
+
+  private final Set<Subscription> subscriptions = new LinkedHashSet<>();
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Binds a component.
+   * <p>
+   * Must be called while the session of the component is locked.
+   *
+   * @param asyncBinding The binding of the asynchronous model of the component.
+   * @param asyncModel   The asynchronous model of the component.
+   * @return A registration that unbinds the component.
+   */
+  public Registration bind(final LitAsyncModelBinding asyncBinding, final Object asyncModel) {
+    Arguments.requireNotNull(asyncBinding);
+    Arguments.requireNotNull(asyncModel);
+
+    final Class<?> modelType = methodTable.getModelType();
+
+    if(!modelType.isInstance(asyncModel))
+      throw new IllegalArgumentException("Model [" + asyncModel + "] is not a [" + modelType.getName() + "].");
+
+    final Subscription subscription = new Subscription(this, asyncBinding, asyncModel);
+
+    subscription.register();
+
+    return subscription;
+  }
+
+  private synchronized void subscribe(final Subscription subscription) {
+    if(!subscriptions.add(subscription)) return;
+
+    for(final Write write : writes.values()) {
+      write.apply(subscription);
+    }
+  }
+
+  private synchronized void unsubscribe(final Subscription subscription) {
+    subscriptions.remove(subscription);
+  }
+
+  private synchronized Object get(final LitPropertyMethodInvoker invoker) throws Exception {
+    return invoker.getAccessor().get(state.getElement());
+  }
+
+  private synchronized void set(final LitPropertyMethodInvoker invoker, final Method method, final Object[] arguments) throws Exception {
+    final String propertyName = invoker.getPropertyName();
+    final Element element = state.getElement();
+
+    invoker.getAccessor().set(element, arguments[0]);
+
+    // Handlers that write a plain element property are converted once; the others are applied per component.
+    final Serializable value = (element.hasProperty(propertyName) ? element.getPropertyRaw(propertyName) : null);
+    final Write write;
+
+    if(value == null && element.hasProperty(propertyName)) {
+      // Concurrent maps cannot hold null.
+      write = new Write(propertyName, Json.createNull(), null, null);
+    } else if(value instanceof JsonValue || value instanceof String || value instanceof Boolean || value instanceof Number) {
+      write = new Write(propertyName, value, null, null);
+    } else {
+      write = new Write(propertyName, null, method, arguments);
+    }
+
+    writes.put(propertyName, write);
+
+    for(final Subscription subscription : subscriptions) {
+      write.apply(subscription);
+    }
+  }
+
+  private synchronized void call(final Method method, final Object[] arguments) {
+    for(final Subscription subscription : subscriptions) {
+      subscription.invoke(method, arguments);
+    }
+  }
+
+  // Getters
+  //--------------------------------------------------
+
+  /**
+   * Gets the shared model, which may be called from any thread.
+   *
+   * @return The model.
+   */
+  public M getModel() {
+    return model;
+  }
+
+  public Class<?> getModelType() {
+    return methodTable.getModelType();
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  private final class SharedInvocationHandler implements InvocationHandler {
+
+    private SharedInvocationHandler() {
+      super();
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+      // Required by proxy.
+      if(LitModelObjectMethods.isObjectMethod(method)) return LitModelObjectMethods.invoke(proxy, method, args, methodTable.getModelType());
+
+      final LitModelMethodInvoker invoker = methodTable.get(method);
+
+      if(invoker instanceof LitPropertyMethodInvoker) {
+        final LitPropertyMethodInvoker propertyInvoker = (LitPropertyMethodInvoker)invoker;
+
+        if(propertyInvoker.isGetter()) return get(propertyInvoker);
+
+        set(propertyInvoker, method, args);
+
+        return null;
+      }
+
+      // Functions that return a result are rejected by the constructor.
+      call(method, args);
+
+      return null;
+    }
+
+  }
+
+  /**
+   * A write to a property: either the converted value, or the call that converts it per component.
+   * <p>
+   * A converted value is a {@link JsonValue}, {@link String}, {@link Boolean} or {@link Number}; a {@code null} value is a {@link JsonNull}.
+   */
+  private static final class Write {
+
+    private Write(final String propertyName, final Serializable value, final Method method, final Object[] arguments) {
+      super();
+
+      this.propertyName = propertyName;
+      this.value = value;
+      this.method = method;
+      this.arguments = arguments;
+    }
+
+    private final String propertyName;
+
+    private final Serializable value;
+
+    private final Method method;
+
+    private final Object[] arguments;
+
+    private void apply(final Subscription subscription) {
+      if(method != null) {
+        subscription.invoke(method, arguments);
+      } else {
+        subscription.write(propertyName, value);
+      }
+    }
+
+  }
+
+  /**
+   * The binding of a component.
+   */
+  private static final class Subscription implements Registration {
+
+    private Subscription(final LitSharedModel<?> sharedModel, final LitAsyncModelBinding asyncBinding, final Object asyncModel) {
+      super();
+
+      this.sharedModel = sharedModel;
+      this.asyncBinding = asyncBinding;
+      this.asyncModel = asyncModel;
+    }
+
+    /**
+     * Not serialized, because the shared model is not part of the session.
+     */
+    private transient LitSharedModel<?> sharedModel;
+
+    private final LitAsyncModelBinding asyncBinding;
+
+    private final Object asyncModel;
+
+    private transient Map<String, Serializable> pendingWrites = new ConcurrentHashMap<>();
+
+    private transient AtomicBoolean scheduled = new AtomicBoolean();
+
+    private Registration attachRegistration;
+
+    private Registration detachRegistration;
+
+    private void register() {
+      final Component component = asyncBinding.getBinding().getComponent();
+
+      attachRegistration = component.addAttachListener(event -> {
+        if(sharedModel != null) sharedModel.subscribe(this);
+      });
+      detachRegistration = component.addDetachListener(event -> {
+        if(sharedModel != null) sharedModel.unsubscribe(this);
+      });
+
+      if(component.getUI().isPresent()) sharedModel.subscribe(this);
+    }
+
+    private void write(final String propertyName, final Serializable value) {
+      pendingWrites.put(propertyName, value);
+
+      if(scheduled.compareAndSet(false, true)) asyncBinding.execute(this::flush);
+    }
+
+    /**
+     * Records a call on the asynchronous model, reporting its failure to the session of the component rather than throwing it, so that the call is still
+     * made on the other components.
+     */
+    private void invoke(final Method method, final Object[] arguments) {
+      try {
+        method.invoke(asyncModel, arguments);
+      } catch(final InvocationTargetException e) {
+        reportError(new LitModelException(method.getDeclaringClass(), e.getCause()));
+      } catch(final IllegalAccessException | RuntimeException e) {
+        reportError(new LitModelException(method.getDeclaringClass(), e));
+      }
+    }
+
+    private void reportError(final Throwable throwable) {
+      // Reported while the session is locked.
+      asyncBinding.execute(() -> asyncBinding.reportError(throwable));
+    }
+
+    private void flush() {
+      // Writes made from now on schedule another flush.
+      scheduled.set(false);
+
+      final Element element = asyncBinding.getBinding().getElement();
+
+      for(final String propertyName : pendingWrites.keySet()) {
+        final Serializable value = pendingWrites.remove(propertyName);
+
+        if(value == null) continue;
+
+        // Only the types of LitSharedModel#set(...) are written.
+        if(value instanceof JsonNull) {
+          element.setProperty(propertyName, (String)null);
+        } else if(value instanceof JsonValue) {
+          element.setPropertyJson(propertyName, (JsonValue)value);
+        } else if(value instanceof String) {
+          element.setProperty(propertyName, (String)value);
+        } else if(value instanceof Boolean) {
+          element.setProperty(propertyName, (Boolean)value);
+        } else {
+          element.setProperty(propertyName, ((Number)value).doubleValue());
+        }
+      }
+    }
+
+    @Override
+    public void remove() {
+      attachRegistration.remove();
+      detachRegistration.remove();
+
+      if(sharedModel != null) sharedModel.unsubscribe(this);
+    }
+
+  }
+
+  /**
+   * Owns the element that holds the shared state.
+   */
+  private static final class StateComponent extends Component {
+
+    private StateComponent() {
+      super(new Element("lit-shared-model"));
+    }
+
+  }
+
+}
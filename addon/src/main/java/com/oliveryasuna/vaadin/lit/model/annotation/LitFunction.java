@@ -31,4 +31,61 @@ public @interface LitFunction {
    */
   String name();
 
+  /**
+   * For functions that return a {@link java.util.concurrent.CompletableFuture}.
+   * <p>
+   * The number of milliseconds after which the result completes exceptionally with a {@link java.util.concurrent.TimeoutException}.
+   * If {@code 0}, the result does not time out.
+   */
+  long timeout() default 0L;
+
+  /**
+   * How calls are dispatched to the client.
+   * <p>
+   * Only functions that return {@code void} can be dispatched other than {@link Dispatch#IMMEDIATE}.
+   */
+  Dispatch dispatch() default Dispatch.IMMEDIATE;
+
+  /**
+   * For {@link Dispatch#THROTTLE}.
+   * <p>
+   * The maximum number of calls per {@link #throttleInterval()}.
+   */
+  int throttleLimit() default 1;
+
+  /**
+   * For {@link Dispatch#THROTTLE}.
+   * <p>
+   * The interval, in milliseconds.
+   */
+  long throttleInterval() default 1000L;
+
+  enum Dispatch {
+
+    /**
+     * Every call is sent.
+     */
+    IMMEDIATE,
+
+    /**
+     * Identical calls (i.e., with equal arguments) within one round trip are sent once.
+     * <p>
+     * Calls are sent right before the response, in the order of their first occurrence.
+     */
+    COALESCE,
+
+    /**
+     * Only the last call within one round trip is sent.
+     * <p>
+     * The call is sent right before the response.
+     */
+    LATEST,
+
+    /**
+     * At most {@link #throttleLimit()} calls are sent per {@link #throttleInterval()}; the rest are dropped.
+     */
+    THROTTLE
+
+  }
+
 }
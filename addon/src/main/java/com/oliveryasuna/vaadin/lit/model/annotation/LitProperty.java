@@ -49,4 +49,38 @@ public @interface LitProperty {
    */
   boolean nullDefaultValue() default false;
 
+  /**
+   * The DOM event on which the client sends the value of the property to the server.
+   * <p>
+   * If empty, the property is not synchronized, so changes made on the client are not visible to the server.
+   * Only one method of a property needs to declare its synchronization; methods that declare it must agree.
+   * Properties whose values are not stored in the element (JSON, {@link com.oliveryasuna.vaadin.lit.model.property.LitList} and binary properties) cannot
+   * be synchronized.
+   */
+  String syncEvent() default "";
+
+  /**
+   * For {@link #syncEvent()}.
+   * <p>
+   * If positive, the value is sent once no events have occurred for this many milliseconds.
+   * Cannot be combined with {@link #syncThrottle()}.
+   */
+  int syncDebounce() default 0;
+
+  /**
+   * For {@link #syncEvent()}.
+   * <p>
+   * If positive, the value is sent at most once per this many milliseconds.
+   * Cannot be combined with {@link #syncDebounce()}.
+   */
+  int syncThrottle() default 0;
+
+  /**
+   * For binary properties.
+   * <p>
+   * The MIME type of the resource.
+   * If empty, it is guessed from the file name, which is the name of the property unless the value is a {@link java.nio.file.Path}.
+   */
+  String contentType() default "";
+
 }
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.data;
+
+import com.oliveryasuna.vaadin.lit.model.annotation.LitDataSource;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.JsonSerializer;
+import com.vaadin.flow.shared.Registration;
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Connects a {@link DataProvider} to a data source of a Lit element, for the lifetime of its component.
+ *
+ * @see LitDataSource
+ */
+public final class LitDataSourceConnector implements Serializable {
+
+  // Static fields
+  //--------------------------------------------------
+
+  /**
+   * Must match {@code LitDataSourceMixin}.
+   */
+  private static final String REQUEST_EVENT_TYPE = "lit-data-request";
+
+  /**
+   * Must match {@code LitDataSourceMixin}.
+   */
+  private static final String RECEIVE_FUNCTION_NAME = "receiveLitData";
+
+  /**
+   * Must match {@code LitDataSourceMixin}.
+   */
+  private static final String RESET_FUNCTION_NAME = "resetLitData";
+
+  private static final String NAME_EVENT_DATA = "event.detail.name";
+
+  private static final String REQUEST_ID_EVENT_DATA = "event.detail.requestId";
+
+  private static final String OFFSET_EVENT_DATA = "event.detail.offset";
+
+  private static final String LIMIT_EVENT_DATA = "event.detail.limit";
+
+  private static final String CONNECTOR_KEY_PREFIX = LitDataSourceConnector.class.getName() + "#";
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Gets the connector of a data source of a component, creating it if necessary.
+   *
+   * @param component  The component.
+   * @param annotation The annotation of the data source.
+   * @return The connector.
+   */
+  public static LitDataSourceConnector get(final Component component, final LitDataSource annotation) {
+    final String key = CONNECTOR_KEY_PREFIX + annotation.name();
+    final LitDataSourceConnector existing = (LitDataSourceConnector)ComponentUtil.getData(component, key);
+
+    if(existing != null) return existing;
+
+    final LitDataSourceConnector connector = new LitDataSourceConnector(component, annotation);
+
+    ComponentUtil.setData(component, key, connector);
+
+    return connector;
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private LitDataSourceConnector(final Component component, final LitDataSource annotation) {
+    super();
+
+    this.component = component;
+    this.name = annotation.name();
+    this.pageSize = annotation.pageSize();
+    this.maxLimit = annotation.pageSize() * annotation.cacheSize();
+    this.prefetch = annotation.prefetch();
+    this.pages = new PageCache(annotation.cacheSize());
+
+    final Element element = component.getElement();
+
+    element.addEventListener(REQUEST_EVENT_TYPE, this::onRequest)
+        .setFilter(NAME_EVENT_DATA + " === " + Json.create(name).toJson())
+        .addEventData(REQUEST_ID_EVENT_DATA)
+        .addEventData(OFFSET_EVENT_DATA)
+        .addEventData(LIMIT_EVENT_DATA);
+
+    // The data provider is only listened to while the component is attached, so that it does not keep the component alive.
+    element.addAttachListener(event -> {
+      listen();
+      reset();
+    });
+    element.addDetachListener(event -> unlisten());
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Component component;
+
+  private final String name;
+
+  private final int pageSize;
+
+  private final int maxLimit;
+
+  private final int prefetch;
+
+  private final PageCache pages;
+
+  private DataProvider<Object, ?> dataProvider;
+
+  private Registration dataProviderRegistration;
+
+  /**
+   * The number of items, or {@code -1} if it is not known.
+   */
+  private int size = -1;
+
+  private boolean resetPending;
+
+  /**
+   * The latest unanswered request ({@code requestId}, {@code offset}, {@code limit}), or {@code null}.
+   */
+  private int[] pendingRequest;
+
+  private boolean scheduled;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Replaces the data provider.
+   * <p>
+   * The element is told to fetch its items again.
+   *
+   * @param dataProvider The data provider, or {@code null} to disconnect it.
+   */
+  @SuppressWarnings("unchecked")
+  public void setDataProvider(final DataProvider<?, ?> dataProvider) {
+    unlisten();
+
+    this.dataProvider = (DataProvider<Object, ?>)dataProvider;
+
+    if(component.getElement().getNode().isAttached()) listen();
+
+    reset();
+  }
+
+  private void listen() {
+    if(dataProvider != null && dataProviderRegistration == null) dataProviderRegistration = dataProvider.addDataProviderListener(event -> reset());
+  }
+
+  private void unlisten() {
+    if(dataProviderRegistration == null) return;
+
+    dataProviderRegistration.remove();
+    dataProviderRegistration = null;
+  }
+
+  private void reset() {
+    pages.clear();
+    size = -1;
+    pendingRequest = null;
+    resetPending = true;
+
+    schedule();
+  }
+
+  private void onRequest(final DomEvent event) {
+    final JsonObject data = event.getEventData();
+    final int offset = Math.max(0, (int)data.getNumber(OFFSET_EVENT_DATA));
+    final int limit = Math.max(0, Math.min(maxLimit, (int)data.getNumber(LIMIT_EVENT_DATA)));
+
+    // Replaces any request of the same round trip.
+    pendingRequest = new int[] {(int)data.getNumber(REQUEST_ID_EVENT_DATA), offset, limit};
+
+    schedule();
+  }
+
+  private void schedule() {
+    if(scheduled) return;
+
+    scheduled = true;
+
+    component.getElement().getNode().runWhenAttached(ui -> ui.beforeClientResponse(component, context -> flush()));
+  }
+
+  private void flush() {
+    scheduled = false;
+
+    final Element element = component.getElement();
+
+    if(resetPending) {
+      resetPending = false;
+
+      element.callJsFunction(RESET_FUNCTION_NAME, name, getSize());
+    }
+
+    if(pendingRequest != null) {
+      final int[] request = pendingRequest;
+
+      pendingRequest = null;
+
+      final int size = getSize();
+      final int from = Math.min(size, Math.max(0, request[1] - prefetch));
+      final int to = (int)Math.min(size, (long)request[1] + request[2] + prefetch);
+
+      element.callJsFunction(RECEIVE_FUNCTION_NAME, name, request[0], from, JsonSerializer.toJson(fetch(from, to)), size);
+    }
+  }
+
+  private int getSize() {
+    if(size < 0) size = (dataProvider != null ? dataProvider.size(new Query<>()) : 0);
+
+    return size;
+  }
+
+  private List<Object> fetch(final int from, final int to) {
+    final List<Object> items = new ArrayList<>(to - from);
+
+    for(int index = from; index < to; ) {
+      final int pageIndex = index / pageSize;
+      final List<Object> page = getPage(pageIndex);
+      final int pageOffset = index - pageIndex * pageSize;
+      final int count = Math.min(page.size() - pageOffset, to - index);
+
+      // The data provider has fewer items than it claimed.
+      if(count <= 0) break;
+
+      items.addAll(page.subList(pageOffset, pageOffset + count));
+      index += count;
+    }
+
+    return items;
+  }
+
+  private List<Object> getPage(final int pageIndex) {
+    final List<Object> cached = pages.get(pageIndex);
+
+    if(cached != null) return cached;
+
+    final List<Object> page = dataProvider.fetch(new Query<>(pageIndex * pageSize, pageSize, Collections.emptyList(), null, null))
+        .collect(Collectors.toCollection(ArrayList::new));
+
+    pages.put(pageIndex, page);
+
+    return page;
+  }
+
+  // Getters
+  //--------------------------------------------------
+
+  public String getName() {
+    return name;
+  }
+
+  public DataProvider<?, ?> getDataProvider() {
+    return dataProvider;
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * Pages by index, least recently used first.
+   */
+  private static final class PageCache extends LinkedHashMap<Integer, List<Object>> {
+
+    private PageCache(final int capacity) {
+      super(16, 0.75f, true);
+
+      this.capacity = capacity;
+    }
+
+    private final int capacity;
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<Integer, List<Object>> eldest) {
+      return (size() > capacity);
+    }
+
+  }
+
+}
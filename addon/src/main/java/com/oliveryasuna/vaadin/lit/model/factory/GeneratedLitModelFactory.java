@@ -0,0 +1,416 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.factory;
+
+import com.oliveryasuna.commons.language.marker.Singleton;
+import com.oliveryasuna.vaadin.lit.exception.LitModelException;
+import com.oliveryasuna.vaadin.lit.model.LitModel;
+import com.oliveryasuna.vaadin.lit.model.jfr.LitPropertyEvents;
+import com.oliveryasuna.vaadin.lit.model.jfr.LitPropertyGetEvent;
+import com.oliveryasuna.vaadin.lit.model.jfr.LitPropertySetEvent;
+import com.oliveryasuna.vaadin.lit.model.property.*;
+import com.oliveryasuna.vaadin.lit.model.proxy.DefaultLitModelInvocationHandler;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelMethodInvoker;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelMethodTable;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitPropertyCache;
+import com.oliveryasuna.vaadin.lit.model.proxy.annotation.LitPropertyMethodInvoker;
+import com.vaadin.flow.dom.Element;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.FieldManifestation;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.InvocationHandlerAdapter;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.returns;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+/**
+ * Implements models with classes that are generated at runtime with Byte Buddy, falling back to {@link ProxyLitModelFactory}.
+ */
+@Singleton
+public final class GeneratedLitModelFactory implements LitModelFactory {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String GENERATED_CLASS_NAME_FORMAT = "%s$LitModel$%d";
+
+  private static final String ELEMENT_FIELD_NAME = "element";
+
+  private static final String BINDING_FIELD_NAME = "binding";
+
+  private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, Element.class, InvocationHandler.class);
+
+  private static final MethodType INSTANTIATOR_TYPE = MethodType.methodType(Object.class, Element.class, InvocationHandler.class);
+
+  private static final AtomicInteger GENERATED_CLASS_COUNTER = new AtomicInteger();
+
+  // Singleton
+  //--------------------------------------------------
+
+  private static final GeneratedLitModelFactory INSTANCE = new GeneratedLitModelFactory();
+
+  public static GeneratedLitModelFactory getInstance() {
+    return INSTANCE;
+  }
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static Optional<MethodHandle> generate(final Class<?> modelType) {
+    try {
+      DynamicType.Builder<Object> builder = new ByteBuddy()
+          .subclass(Object.class)
+          .implement(modelType)
+          .name(String.format(GENERATED_CLASS_NAME_FORMAT, modelType.getName(), GENERATED_CLASS_COUNTER.incrementAndGet()))
+          .defineField(ELEMENT_FIELD_NAME, Element.class, Visibility.PRIVATE, FieldManifestation.FINAL)
+          .defineField(BINDING_FIELD_NAME, InvocationHandler.class, Visibility.PRIVATE, FieldManifestation.FINAL)
+          .defineConstructor(Visibility.PUBLIC)
+          .withParameters(Element.class, InvocationHandler.class)
+          .intercept(MethodCall.invoke(Object.class.getConstructor())
+              .andThen(FieldAccessor.ofField(ELEMENT_FIELD_NAME).setsArgumentAt(0))
+              .andThen(FieldAccessor.ofField(BINDING_FIELD_NAME).setsArgumentAt(1)));
+
+      final LitModelMethodTable methodTable = DefaultLitModelInvocationHandler.getInstance().compile(modelType);
+
+      for(final Method method : modelType.getMethods()) {
+        if(Modifier.isStatic(method.getModifiers())) continue;
+
+        builder = builder.method(named(method.getName()).and(takesArguments(method.getParameterTypes())).and(returns(method.getReturnType())))
+            .intercept(implement(method, methodTable.get(method)));
+      }
+
+      final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(modelType, MethodHandles.lookup());
+      final Class<?> generatedType = builder.make()
+          .load(modelType.getClassLoader(), ClassLoadingStrategy.UsingLookup.of(lookup))
+          .getLoaded();
+
+      return Optional.of(lookup.findConstructor(generatedType, CONSTRUCTOR_TYPE).asType(INSTANTIATOR_TYPE));
+    } catch(final ReflectiveOperationException | RuntimeException | LinkageError e) {
+      return Optional.empty();
+    }
+  }
+
+  private static Implementation implement(final Method method, final LitModelMethodInvoker invoker) throws ReflectiveOperationException {
+    if(invoker instanceof LitPropertyMethodInvoker) {
+      final LitPropertyMethodInvoker propertyInvoker = (LitPropertyMethodInvoker)invoker;
+      final LitPropertyAccessor accessor = EventAccessor.of(propertyInvoker);
+      final Implementation implementation = (propertyInvoker.isGetter()
+          ? implementGetter(method, accessor)
+          : implementSetter(method, accessor));
+
+      if(implementation != null) return implementation;
+    }
+
+    return InvocationHandlerAdapter.toField(BINDING_FIELD_NAME);
+  }
+
+  private static Implementation implementGetter(final Method method, final LitPropertyAccessor accessor) throws ReflectiveOperationException {
+    final Class<?> type = method.getReturnType();
+
+    if(type.equals(int.class) && accessor instanceof IntPropertyAccessor) {
+      return invokeAccessor((IntPropertyAccessor)accessor, IntPropertyAccessor.class, "getInt", Element.class);
+    }
+    if(type.equals(double.class) && accessor instanceof DoublePropertyAccessor) {
+      return invokeAccessor((DoublePropertyAccessor)accessor, DoublePropertyAccessor.class, "getDouble", Element.class);
+    }
+    if(type.equals(boolean.class) && accessor instanceof BooleanPropertyAccessor) {
+      return invokeAccessor((BooleanPropertyAccessor)accessor, BooleanPropertyAccessor.class, "getBoolean", Element.class);
+    }
+    if(type.equals(long.class) && accessor instanceof LongPropertyAccessor) {
+      return invokeAccessor((LongPropertyAccessor)accessor, LongPropertyAccessor.class, "getLong", Element.class);
+    }
+    if(!type.isPrimitive()) {
+      return invokeAccessor(accessor, LitPropertyAccessor.class, "get", Element.class).withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC);
+    }
+
+    return null;
+  }
+
+  private static Implementation implementSetter(final Method method, final LitPropertyAccessor accessor) throws ReflectiveOperationException {
+    if(method.getParameterCount() != 1) return null;
+
+    final Class<?> type = method.getParameterTypes()[0];
+
+    if(type.equals(int.class) && accessor instanceof IntPropertyAccessor) {
+      return invokeAccessor((IntPropertyAccessor)accessor, IntPropertyAccessor.class, "setInt", Element.class, int.class).withArgument(0);
+    }
+    if(type.equals(double.class) && accessor instanceof DoublePropertyAccessor) {
+      return invokeAccessor((DoublePropertyAccessor)accessor, DoublePropertyAccessor.class, "setDouble", Element.class, double.class).withArgument(0);
+    }
+    if(type.equals(boolean.class) && accessor instanceof BooleanPropertyAccessor) {
+      return invokeAccessor((BooleanPropertyAccessor)accessor, BooleanPropertyAccessor.class, "setBoolean", Element.class, boolean.class).withArgument(0);
+    }
+    if(type.equals(long.class) && accessor instanceof LongPropertyAccessor) {
+      return invokeAccessor((LongPropertyAccessor)accessor, LongPropertyAccessor.class, "setLong", Element.class, long.class).withArgument(0);
+    }
+    if(!type.isPrimitive()) {
+      return invokeAccessor(accessor, LitPropertyAccessor.class, "set", Element.class, Object.class).withArgument(0);
+    }
+
+    return null;
+  }
+
+  private static <A extends LitPropertyAccessor> MethodCall invokeAccessor(final A accessor, final Class<? super A> accessorType, final String methodName,
+      final Class<?>... parameterTypes) throws ReflectiveOperationException {
+    return MethodCall.invoke(accessorType.getMethod(methodName, parameterTypes)).on(accessor, accessorType).withField(ELEMENT_FIELD_NAME);
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private GeneratedLitModelFactory() {
+    super();
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final transient ClassValue<Optional<MethodHandle>> instantiators = new ClassValue<>() {
+    @Override
+    protected Optional<MethodHandle> computeValue(final Class<?> modelType) {
+      return generate(modelType);
+    }
+  };
+
+  // Methods
+  //--------------------------------------------------
+
+  private Object readResolve() {
+    return INSTANCE;
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // LitModelFactory
+  //
+
+  @Override
+  public <M extends LitModel> LitModelInstantiator<M> prepare(final Class<M> modelType, final LitModelMethodTable methodTable) {
+    // Generated methods assume the built-in annotation and property handlers, and bypass the property cache.
+    if(methodTable.getInvocationHandler() != DefaultLitModelInvocationHandler.getInstance() || LitPropertyCache.isEnabled(modelType)) {
+      return ProxyLitModelFactory.getInstance().prepare(modelType, methodTable);
+    }
+
+    final Optional<MethodHandle> instantiator = instantiators.get(modelType);
+
+    if(instantiator.isEmpty()) return ProxyLitModelFactory.getInstance().prepare(modelType, methodTable);
+
+    final MethodHandle constructor = instantiator.get();
+
+    return binding -> {
+      try {
+        return modelType.cast((Object)constructor.invokeExact(binding.getElement(), (InvocationHandler)binding));
+      } catch(final RuntimeException | Error e) {
+        throw e;
+      } catch(final Throwable t) {
+        throw new LitModelException(modelType, t);
+      }
+    };
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * Emits the {@link LitPropertyEvents JFR property events} around the calls of an accessor, keeping its specialization.
+   */
+  private abstract static class EventAccessor {
+
+    private static LitPropertyAccessor of(final LitPropertyMethodInvoker invoker) {
+      final LitPropertyAccessor accessor = invoker.getAccessor();
+      final String propertyName = invoker.getPropertyName();
+      final Class<?> propertyType = invoker.getPropertyType();
+
+      if(accessor instanceof IntPropertyAccessor) return new IntEventAccessor((IntPropertyAccessor)accessor, propertyName, propertyType);
+      if(accessor instanceof DoublePropertyAccessor) return new DoubleEventAccessor((DoublePropertyAccessor)accessor, propertyName, propertyType);
+      if(accessor instanceof BooleanPropertyAccessor) return new BooleanEventAccessor((BooleanPropertyAccessor)accessor, propertyName, propertyType);
+      if(accessor instanceof LongPropertyAccessor) return new LongEventAccessor((LongPropertyAccessor)accessor, propertyName, propertyType);
+
+      return new ObjectEventAccessor(accessor, propertyName, propertyType);
+    }
+
+    private EventAccessor(final LitPropertyAccessor accessor, final String propertyName, final Class<?> propertyType) {
+      super();
+
+      this.accessor = accessor;
+      this.propertyName = propertyName;
+      this.propertyType = propertyType;
+    }
+
+    final LitPropertyAccessor accessor;
+
+    final String propertyName;
+
+    final Class<?> propertyType;
+
+  }
+
+  private static final class ObjectEventAccessor extends EventAccessor implements LitPropertyAccessor {
+
+    private ObjectEventAccessor(final LitPropertyAccessor accessor, final String propertyName, final Class<?> propertyType) {
+      super(accessor, propertyName, propertyType);
+    }
+
+    @Override
+    public Object get(final Element element) throws Exception {
+      final LitPropertyGetEvent event = LitPropertyEvents.beginGet();
+      final Object value = accessor.get(element);
+
+      LitPropertyEvents.commitGet(event, element, propertyName, propertyType);
+
+      return value;
+    }
+
+    @Override
+    public void set(final Element element, final Object value) throws Exception {
+      final LitPropertySetEvent event = LitPropertyEvents.beginSet();
+
+      accessor.set(element, value);
+
+      LitPropertyEvents.commitSet(event, element, propertyName, propertyType);
+    }
+
+  }
+
+  private static final class IntEventAccessor extends EventAccessor implements IntPropertyAccessor {
+
+    private IntEventAccessor(final IntPropertyAccessor accessor, final String propertyName, final Class<?> propertyType) {
+      super(accessor, propertyName, propertyType);
+    }
+
+    @Override
+    public int getInt(final Element element) {
+      final LitPropertyGetEvent event = LitPropertyEvents.beginGet();
+      final int value = ((IntPropertyAccessor)accessor).getInt(element);
+
+      LitPropertyEvents.commitGet(event, element, propertyName, propertyType);
+
+      return value;
+    }
+
+    @Override
+    public void setInt(final Element element, final int value) {
+      final LitPropertySetEvent event = LitPropertyEvents.beginSet();
+
+      ((IntPropertyAccessor)accessor).setInt(element, value);
+
+      LitPropertyEvents.commitSet(event, element, propertyName, propertyType);
+    }
+
+  }
+
+  private static final class DoubleEventAccessor extends EventAccessor implements DoublePropertyAccessor {
+
+    private DoubleEventAccessor(final DoublePropertyAccessor accessor, final String propertyName, final Class<?> propertyType) {
+      super(accessor, propertyName, propertyType);
+    }
+
+    @Override
+    public double getDouble(final Element element) {
+      final LitPropertyGetEvent event = LitPropertyEvents.beginGet();
+      final double value = ((DoublePropertyAccessor)accessor).getDouble(element);
+
+      LitPropertyEvents.commitGet(event, element, propertyName, propertyType);
+
+      return value;
+    }
+
+    @Override
+    public void setDouble(final Element element, final double value) {
+      final LitPropertySetEvent event = LitPropertyEvents.beginSet();
+
+      ((DoublePropertyAccessor)accessor).setDouble(element, value);
+
+      LitPropertyEvents.commitSet(event, element, propertyName, propertyType);
+    }
+
+  }
+
+  private static final class BooleanEventAccessor extends EventAccessor implements BooleanPropertyAccessor {
+
+    private BooleanEventAccessor(final BooleanPropertyAccessor accessor, final String propertyName, final Class<?> propertyType) {
+      super(accessor, propertyName, propertyType);
+    }
+
+    @Override
+    public boolean getBoolean(final Element element) {
+      final LitPropertyGetEvent event = LitPropertyEvents.beginGet();
+      final boolean value = ((BooleanPropertyAccessor)accessor).getBoolean(element);
+
+      LitPropertyEvents.commitGet(event, element, propertyName, propertyType);
+
+      return value;
+    }
+
+    @Override
+    public void setBoolean(final Element element, final boolean value) {
+      final LitPropertySetEvent event = LitPropertyEvents.beginSet();
+
+      ((BooleanPropertyAccessor)accessor).setBoolean(element, value);
+
+      LitPropertyEvents.commitSet(event, element, propertyName, propertyType);
+    }
+
+  }
+
+  private static final class LongEventAccessor extends EventAccessor implements LongPropertyAccessor {
+
+    private LongEventAccessor(final LongPropertyAccessor accessor, final String propertyName, final Class<?> propertyType) {
+      super(accessor, propertyName, propertyType);
+    }
+
+    @Override
+    public long getLong(final Element element) {
+      final LitPropertyGetEvent event = LitPropertyEvents.beginGet();
+      final long value = ((LongPropertyAccessor)accessor).getLong(element);
+
+      LitPropertyEvents.commitGet(event, element, propertyName, propertyType);
+
+      return value;
+    }
+
+    @Override
+    public void setLong(final Element element, final long value) {
+      final LitPropertySetEvent event = LitPropertyEvents.beginSet();
+
+      ((LongPropertyAccessor)accessor).setLong(element, value);
+
+      LitPropertyEvents.commitSet(event, element, propertyName, propertyType);
+    }
+
+  }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.factory;
+
+import com.oliveryasuna.vaadin.lit.model.LitModel;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelBinding;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelMethodTable;
+
+import java.io.Serializable;
+
+/**
+ * Creates {@link LitModel} instances for components.
+ */
+public interface LitModelFactory extends Serializable {
+
+  /**
+   * Prepares an instantiator for a model type.
+   * <p>
+   * Called once per component class, so implementations may do expensive work here.
+   *
+   * @param modelType   The model type.
+   * @param methodTable The compiled methods of the model type.
+   * @param <M>         The type of the model.
+   * @return The instantiator.
+   */
+  <M extends LitModel> LitModelInstantiator<M> prepare(Class<M> modelType, LitModelMethodTable methodTable);
+
+  /**
+   * Creates a model instance.
+   *
+   * @param modelType The model type.
+   * @param binding   The binding of the model to its component.
+   * @param <M>       The type of the model.
+   * @return The model instance.
+   */
+  default <M extends LitModel> M create(final Class<M> modelType, final LitModelBinding binding) {
+    return prepare(modelType, binding.getMethodTable()).instantiate(binding);
+  }
+
+}
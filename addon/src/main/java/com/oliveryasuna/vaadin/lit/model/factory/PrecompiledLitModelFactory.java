@@ -0,0 +1,134 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.factory;
+
+import com.oliveryasuna.commons.language.marker.Singleton;
+import com.oliveryasuna.vaadin.lit.exception.LitModelException;
+import com.oliveryasuna.vaadin.lit.model.LitModel;
+import com.oliveryasuna.vaadin.lit.model.proxy.DefaultLitModelInvocationHandler;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelMethodTable;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitPropertyCache;
+import com.vaadin.flow.dom.Element;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+
+/**
+ * Uses the model implementations generated by the {@code lit-component-processor} annotation processor, falling back to {@link ProxyLitModelFactory}.
+ */
+@Singleton
+public final class PrecompiledLitModelFactory implements LitModelFactory {
+
+  // Static fields
+  //--------------------------------------------------
+
+  /**
+   * Must match {@code LitModelProcessor}.
+   */
+  private static final String GENERATED_CLASS_NAME_PREFIX = "LitModel_";
+
+  private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, Element.class);
+
+  private static final MethodType INSTANTIATOR_TYPE = MethodType.methodType(Object.class, Element.class);
+
+  // Singleton
+  //--------------------------------------------------
+
+  private static final PrecompiledLitModelFactory INSTANCE = new PrecompiledLitModelFactory();
+
+  public static PrecompiledLitModelFactory getInstance() {
+    return INSTANCE;
+  }
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static Optional<MethodHandle> findInstantiator(final Class<?> modelType) {
+    final String packageName = modelType.getPackageName();
+    final String flatName = modelType.getName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1).replace('$', '_');
+    final String generatedClassName = (packageName.isEmpty() ? "" : packageName + ".") + GENERATED_CLASS_NAME_PREFIX + flatName;
+
+    try {
+      final Class<?> generatedType = Class.forName(generatedClassName, true, modelType.getClassLoader());
+
+      if(!modelType.isAssignableFrom(generatedType)) return Optional.empty();
+
+      return Optional.of(MethodHandles.publicLookup().findConstructor(generatedType, CONSTRUCTOR_TYPE).asType(INSTANTIATOR_TYPE));
+    } catch(final ReflectiveOperationException | LinkageError e) {
+      return Optional.empty();
+    }
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private PrecompiledLitModelFactory() {
+    super();
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final transient ClassValue<Optional<MethodHandle>> instantiators = new ClassValue<>() {
+    @Override
+    protected Optional<MethodHandle> computeValue(final Class<?> modelType) {
+      return findInstantiator(modelType);
+    }
+  };
+
+  // Methods
+  //--------------------------------------------------
+
+  private Object readResolve() {
+    return INSTANCE;
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // LitModelFactory
+  //
+
+  @Override
+  public <M extends LitModel> LitModelInstantiator<M> prepare(final Class<M> modelType, final LitModelMethodTable methodTable) {
+    // Generated implementations assume the built-in annotation and property handlers, and bypass the property cache.
+    if(methodTable.getInvocationHandler() != DefaultLitModelInvocationHandler.getInstance() || LitPropertyCache.isEnabled(modelType)) {
+      return ProxyLitModelFactory.getInstance().prepare(modelType, methodTable);
+    }
+
+    final Optional<MethodHandle> instantiator = instantiators.get(modelType);
+
+    if(instantiator.isEmpty()) return ProxyLitModelFactory.getInstance().prepare(modelType, methodTable);
+
+    final MethodHandle constructor = instantiator.get();
+
+    return binding -> {
+      try {
+        return modelType.cast((Object)constructor.invokeExact(binding.getElement()));
+      } catch(final RuntimeException | Error e) {
+        throw e;
+      } catch(final Throwable t) {
+        throw new LitModelException(modelType, t);
+      }
+    };
+  }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.factory;
+
+import com.oliveryasuna.commons.language.marker.Singleton;
+import com.oliveryasuna.vaadin.lit.exception.LitModelException;
+import com.oliveryasuna.vaadin.lit.model.LitModel;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelMethodTable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+
+/**
+ * Implements models with {@link Proxy}s.
+ */
+@Singleton
+public final class ProxyLitModelFactory implements LitModelFactory {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, InvocationHandler.class);
+
+  private static final MethodType INSTANTIATOR_TYPE = MethodType.methodType(Object.class, InvocationHandler.class);
+
+  private static final InvocationHandler NO_OP_INVOCATION_HANDLER = (proxy, method, args) -> null;
+
+  // Singleton
+  //--------------------------------------------------
+
+  private static final ProxyLitModelFactory INSTANCE = new ProxyLitModelFactory();
+
+  public static ProxyLitModelFactory getInstance() {
+    return INSTANCE;
+  }
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static LitModelInstantiator<?> createInstantiator(final Class<?> modelType) {
+    final Class<?> proxyType = Proxy.newProxyInstance(modelType.getClassLoader(), new Class[] {modelType}, NO_OP_INVOCATION_HANDLER).getClass();
+
+    try {
+      final MethodHandle constructor = MethodHandles.publicLookup().findConstructor(proxyType, CONSTRUCTOR_TYPE).asType(INSTANTIATOR_TYPE);
+
+      return binding -> {
+        try {
+          return (LitModel)(Object)constructor.invokeExact((InvocationHandler)binding);
+        } catch(final RuntimeException | Error e) {
+          throw e;
+        } catch(final Throwable t) {
+          throw new LitModelException(modelType, t);
+        }
+      };
+    } catch(final ReflectiveOperationException e) {
+      // Proxies of non-public interfaces are not accessible.
+      return binding -> (LitModel)Proxy.newProxyInstance(modelType.getClassLoader(), new Class[] {modelType}, binding);
+    }
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private ProxyLitModelFactory() {
+    super();
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final transient ClassValue<LitModelInstantiator<?>> instantiators = new ClassValue<>() {
+    @Override
+    protected LitModelInstantiator<?> computeValue(final Class<?> modelType) {
+      return createInstantiator(modelType);
+    }
+  };
+
+  // Methods
+  //--------------------------------------------------
+
+  private Object readResolve() {
+    return INSTANCE;
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // LitModelFactory
+  //
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <M extends LitModel> LitModelInstantiator<M> prepare(final Class<M> modelType, final LitModelMethodTable methodTable) {
+    return (LitModelInstantiator<M>)instantiators.get(modelType);
+  }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.function;
+
+import com.oliveryasuna.commons.language.marker.Immutable;
+import com.oliveryasuna.vaadin.lit.component.LitComponentBase;
+import com.oliveryasuna.vaadin.lit.model.annotation.LitFunction;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelBinding;
+import com.vaadin.flow.function.SerializableRunnable;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatches the calls of a {@link LitFunction} according to its {@link LitFunction#dispatch()}.
+ * Shared by all components of a model type.
+ */
+@Immutable
+public abstract class LitFunctionDispatcher implements Serializable {
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Creates the dispatcher of a function.
+   *
+   * @param annotation The annotation of the function.
+   * @return The dispatcher.
+   */
+  public static LitFunctionDispatcher of(final LitFunction annotation) {
+    switch(annotation.dispatch()) {
+      case COALESCE:
+        return new Coalescing(annotation.name());
+      case LATEST:
+        return new Latest(annotation.name());
+      case THROTTLE:
+        return new Throttling(annotation.name(), annotation.throttleLimit(), TimeUnit.MILLISECONDS.toNanos(annotation.throttleInterval()));
+      default:
+        return new Immediate(annotation.name());
+    }
+  }
+
+  private static void runBeforeClientResponse(final LitModelBinding binding, final SerializableRunnable action) {
+    final LitComponentBase<?> component = binding.getComponent();
+
+    component.getElement().getNode().runWhenAttached(ui -> ui.beforeClientResponse(component, context -> action.run()));
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private LitFunctionDispatcher(final String functionName) {
+    super();
+
+    this.functionName = functionName;
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final String functionName;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Dispatches a call.
+   *
+   * @param binding   The binding of the model that was called.
+   * @param arguments The arguments.
+   */
+  public abstract void dispatch(LitModelBinding binding, Serializable[] arguments);
+
+  protected final void call(final LitModelBinding binding, final Serializable[] arguments) {
+    binding.getElement().callJsFunction(functionName, arguments);
+  }
+
+  // Getters
+  //--------------------------------------------------
+
+  public final String getFunctionName() {
+    return functionName;
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  private static final class Immediate extends LitFunctionDispatcher {
+
+    private Immediate(final String functionName) {
+      super(functionName);
+    }
+
+    @Override
+    public void dispatch(final LitModelBinding binding, final Serializable[] arguments) {
+      call(binding, arguments);
+    }
+
+  }
+
+  private static final class Coalescing extends LitFunctionDispatcher {
+
+    private Coalescing(final String functionName) {
+      super(functionName);
+    }
+
+    @Override
+    public void dispatch(final LitModelBinding binding, final Serializable[] arguments) {
+      final Set<List<Serializable>> pending = binding.getState(this, LinkedHashSet::new);
+
+      if(pending.isEmpty()) runBeforeClientResponse(binding, () -> flush(binding, pending));
+
+      pending.add(Arrays.asList(arguments));
+    }
+
+    private void flush(final LitModelBinding binding, final Set<List<Serializable>> pending) {
+      final List<List<Serializable>> calls = new ArrayList<>(pending);
+
+      pending.clear();
+
+      for(final List<Serializable> arguments : calls) {
+        call(binding, arguments.toArray(new Serializable[0]));
+      }
+    }
+
+  }
+
+  private static final class Latest extends LitFunctionDispatcher {
+
+    private Latest(final String functionName) {
+      super(functionName);
+    }
+
+    @Override
+    public void dispatch(final LitModelBinding binding, final Serializable[] arguments) {
+      final Serializable[][] pending = binding.getState(this, () -> new Serializable[1][]);
+
+      if(pending[0] == null) runBeforeClientResponse(binding, () -> flush(binding, pending));
+
+      pending[0] = arguments;
+    }
+
+    private void flush(final LitModelBinding binding, final Serializable[][] pending) {
+      final Serializable[] arguments = pending[0];
+
+      pending[0] = null;
+
+      call(binding, arguments);
+    }
+
+  }
+
+  private static final class Throttling extends LitFunctionDispatcher {
+
+    private Throttling(final String functionName, final int limit, final long intervalNanos) {
+      super(functionName);
+
+      this.limit = limit;
+      this.intervalNanos = intervalNanos;
+    }
+
+    private final int limit;
+
+    private final long intervalNanos;
+
+    @Override
+    public void dispatch(final LitModelBinding binding, final Serializable[] arguments) {
+      // [0]: start of the current window; [1]: calls in the current window.
+      final long[] window = binding.getState(this, () -> new long[] {System.nanoTime(), 0L});
+      final long now = System.nanoTime();
+
+      if(now - window[0] >= intervalNanos) {
+        window[0] = now;
+        window[1] = 0L;
+      }
+
+      if(window[1] >= limit) return;
+
+      window[1]++;
+
+      call(binding, arguments);
+    }
+
+  }
+
+}
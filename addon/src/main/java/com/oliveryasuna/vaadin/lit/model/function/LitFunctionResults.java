@@ -0,0 +1,185 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.function;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.component.page.PendingJavaScriptResult;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.internal.JsonCodec;
+import com.vaadin.flow.internal.JsonSerializer;
+import elemental.json.JsonValue;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Converts {@link PendingJavaScriptResult}s of {@link com.oliveryasuna.vaadin.lit.model.annotation.LitFunction}s into decoded {@link CompletableFuture}s.
+ */
+public final class LitFunctionResults {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final ClassValue<Function<JsonValue, Object>> DECODERS = new ClassValue<>() {
+    @Override
+    protected Function<JsonValue, Object> computeValue(final Class<?> resultType) {
+      return createDecoder(resultType);
+    }
+  };
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Converts a result.
+   *
+   * @param result     The result.
+   * @param resultType The type of the value of the future.
+   * @param timeout    The timeout, in milliseconds, or {@code 0} for none.
+   * @param element    The element that the invocation was made on.
+   * @param <T>        The type of the value of the future.
+   * @return The future.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> CompletableFuture<T> toCompletableFuture(final PendingJavaScriptResult result, final Class<?> resultType, final long timeout,
+      final Element element) {
+    // Captured now, as the future completes on other threads.
+    final UI ui = element.getComponent().flatMap(Component::getUI).orElseGet(UI::getCurrent);
+    final Function<JsonValue, Object> decoder = DECODERS.get(resultType);
+    final CompletableFuture<Object> future = new CompletableFuture<>();
+
+    result.then(JsonValue.class, json -> {
+      try {
+        future.complete(decoder.apply(json));
+      } catch(final RuntimeException e) {
+        future.completeExceptionally(e);
+      }
+    }, error -> future.completeExceptionally(new PendingJavaScriptResult.JavaScriptException(error)));
+
+    if(timeout > 0L) future.orTimeout(timeout, TimeUnit.MILLISECONDS);
+
+    future.whenComplete((value, throwable) -> {
+      if(!(throwable instanceof CancellationException || throwable instanceof TimeoutException)) return;
+
+      // Not attached to any UI, so the invocation is not shared with a session yet.
+      if(ui == null) {
+        result.cancelExecution();
+        return;
+      }
+
+      try {
+        ui.access(result::cancelExecution);
+      } catch(final UIDetachedException e) {
+        // The invocation is discarded with the UI.
+      }
+    });
+
+    return (CompletableFuture<T>)future;
+  }
+
+  /**
+   * Observes the completion of a result.
+   * <p>
+   * Results are only delivered to handlers registered with {@link PendingJavaScriptResult#then(SerializableConsumer, SerializableConsumer)}, so
+   * {@code onCompletion} is only called if the returned result has one.
+   *
+   * @param result       The result.
+   * @param onCompletion Called with whether the client function returned, rather than threw, before the handlers.
+   * @return The observed result.
+   */
+  public static PendingJavaScriptResult whenComplete(final PendingJavaScriptResult result, final SerializableConsumer<Boolean> onCompletion) {
+    return new ObservedPendingJavaScriptResult(result, onCompletion);
+  }
+
+  /**
+   * Checks whether a return type is supported by {@link #toCompletableFuture(PendingJavaScriptResult, Class, long, Element)}.
+   *
+   * @param returnType The return type.
+   * @return Whether the return type is supported.
+   */
+  public static boolean isFutureType(final Class<?> returnType) {
+    return (returnType != Object.class && returnType.isAssignableFrom(CompletableFuture.class));
+  }
+
+  private static Function<JsonValue, Object> createDecoder(final Class<?> resultType) {
+    if(resultType == Void.class) return json -> null;
+    if(resultType == Object.class) return JsonCodec::decodeWithoutTypeInfo;
+    if(JsonValue.class.isAssignableFrom(resultType)) return resultType::cast;
+    if(JsonCodec.canEncodeWithoutTypeInfo(resultType)) return json -> JsonCodec.decodeAs(json, resultType);
+
+    return json -> JsonSerializer.toObject(resultType, json);
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private LitFunctionResults() {
+    super();
+
+    throw new UnsupportedOperationException();
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  private static final class ObservedPendingJavaScriptResult implements PendingJavaScriptResult {
+
+    private ObservedPendingJavaScriptResult(final PendingJavaScriptResult result, final SerializableConsumer<Boolean> onCompletion) {
+      super();
+
+      this.result = result;
+      this.onCompletion = onCompletion;
+    }
+
+    private final PendingJavaScriptResult result;
+
+    private final SerializableConsumer<Boolean> onCompletion;
+
+    @Override
+    public boolean cancelExecution() {
+      return result.cancelExecution();
+    }
+
+    @Override
+    public boolean isSentToBrowser() {
+      return result.isSentToBrowser();
+    }
+
+    @Override
+    public void then(final SerializableConsumer<JsonValue> resultHandler, final SerializableConsumer<String> errorHandler) {
+      result.then(value -> {
+        onCompletion.accept(true);
+
+        resultHandler.accept(value);
+      }, error -> {
+        onCompletion.accept(false);
+
+        if(errorHandler != null) errorHandler.accept(error);
+      });
+    }
+
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted when a {@link com.oliveryasuna.vaadin.lit.model.annotation.LitFunction} is called.
+ */
+@Name(LitFunctionDispatchEvent.NAME)
+@Label("Lit Function Dispatch")
+@Description("Call of a function of a Lit model.")
+@Category({"Vaadin", "Lit Component"})
+@Enabled(false)
+@StackTrace(false)
+public final class LitFunctionDispatchEvent extends Event {
+
+  // Static fields
+  //--------------------------------------------------
+
+  public static final String NAME = "com.oliveryasuna.vaadin.lit.FunctionDispatch";
+
+  // Constructors
+  //--------------------------------------------------
+
+  public LitFunctionDispatchEvent() {
+    super();
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  @Label("Component Class")
+  public Class<?> componentClass;
+
+  @Label("Function Name")
+  public String functionName;
+
+  @Label("Dispatch")
+  public String dispatch;
+
+  @Label("Argument Count")
+  public int argumentCount;
+
+  @Label("Deferred")
+  @Description("Whether the call was deferred to the end of a transaction.")
+  public boolean deferred;
+
+}
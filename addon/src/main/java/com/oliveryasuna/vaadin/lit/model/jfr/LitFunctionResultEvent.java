@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Emitted when the client result of a {@link com.oliveryasuna.vaadin.lit.model.annotation.LitFunction} arrives.
+ */
+@Name(LitFunctionResultEvent.NAME)
+@Label("Lit Function Result")
+@Description("Round trip of a function of a Lit model that returns a result.")
+@Category({"Vaadin", "Lit Component"})
+@Enabled(false)
+@StackTrace(false)
+public final class LitFunctionResultEvent extends Event {
+
+  // Static fields
+  //--------------------------------------------------
+
+  public static final String NAME = "com.oliveryasuna.vaadin.lit.FunctionResult";
+
+  private static final EventType EVENT_TYPE = EventType.getEventType(LitFunctionResultEvent.class);
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Checks whether any recording has the event enabled, so that calls need to be observed.
+   *
+   * @return Whether the event is enabled.
+   */
+  public static boolean isRecorded() {
+    return EVENT_TYPE.isEnabled();
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  public LitFunctionResultEvent() {
+    super();
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  @Label("Component Class")
+  public Class<?> componentClass;
+
+  @Label("Function Name")
+  public String functionName;
+
+  @Label("Succeeded")
+  @Description("Whether the client function returned, rather than threw.")
+  public boolean succeeded;
+
+  @Label("Round Trip")
+  @Timespan(Timespan.NANOSECONDS)
+  public long roundTrip;
+
+}
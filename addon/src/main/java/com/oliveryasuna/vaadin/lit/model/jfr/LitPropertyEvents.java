@@ -0,0 +1,116 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.jfr;
+
+import com.vaadin.flow.dom.Element;
+import jdk.jfr.EventType;
+
+/**
+ * Emits the JFR property events for the implementations generated by {@code lit-component-processor}, so the signatures must not change.
+ */
+public final class LitPropertyEvents {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final EventType GET_EVENT_TYPE = EventType.getEventType(LitPropertyGetEvent.class);
+
+  private static final EventType SET_EVENT_TYPE = EventType.getEventType(LitPropertySetEvent.class);
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Begins a read.
+   *
+   * @return The event, or {@code null} if it is not enabled.
+   */
+  public static LitPropertyGetEvent beginGet() {
+    if(!GET_EVENT_TYPE.isEnabled()) return null;
+
+    final LitPropertyGetEvent event = new LitPropertyGetEvent();
+
+    event.begin();
+
+    return event;
+  }
+
+  /**
+   * Ends a read.
+   *
+   * @param event        The event returned by {@link #beginGet()}, or {@code null}.
+   * @param element      The element of the model.
+   * @param propertyName The name of the property.
+   * @param valueType    The type of the value.
+   */
+  public static void commitGet(final LitPropertyGetEvent event, final Element element, final String propertyName, final Class<?> valueType) {
+    if(event == null || !event.shouldCommit()) return;
+
+    event.componentClass = componentClass(element);
+    event.propertyName = propertyName;
+    event.valueType = valueType;
+    event.commit();
+  }
+
+  /**
+   * Begins a write.
+   *
+   * @return The event, or {@code null} if it is not enabled.
+   */
+  public static LitPropertySetEvent beginSet() {
+    if(!SET_EVENT_TYPE.isEnabled()) return null;
+
+    final LitPropertySetEvent event = new LitPropertySetEvent();
+
+    event.begin();
+
+    return event;
+  }
+
+  /**
+   * Ends a write.
+   *
+   * @param event        The event returned by {@link #beginSet()}, or {@code null}.
+   * @param element      The element of the model.
+   * @param propertyName The name of the property.
+   * @param valueType    The type of the value.
+   */
+  public static void commitSet(final LitPropertySetEvent event, final Element element, final String propertyName, final Class<?> valueType) {
+    if(event == null || !event.shouldCommit()) return;
+
+    event.componentClass = componentClass(element);
+    event.propertyName = propertyName;
+    event.valueType = valueType;
+    event.commit();
+  }
+
+  private static Class<?> componentClass(final Element element) {
+    return element.getComponent().<Class<?>>map(Object::getClass).orElse(null);
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private LitPropertyEvents() {
+    super();
+
+    throw new UnsupportedOperationException();
+  }
+
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.metrics;
+
+import com.oliveryasuna.commons.language.marker.Immutable;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps counters per component type and model method in memory; safe for concurrent use.
+ */
+public class InMemoryLitModelMetrics implements LitModelMetrics {
+
+  // Static fields
+  //--------------------------------------------------
+
+  public static final int ROUND_TRIP_BUCKET_COUNT = 16;
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Gets the exclusive upper bound of a round-trip bucket.
+   *
+   * @param bucket The bucket.
+   * @return The upper bound, in milliseconds, or {@link Long#MAX_VALUE} for the last bucket.
+   */
+  public static long getRoundTripBucketUpperBound(final int bucket) {
+    return (bucket < ROUND_TRIP_BUCKET_COUNT - 1 ? 1L << bucket : Long.MAX_VALUE);
+  }
+
+  private static int roundTripBucket(final long nanos) {
+    final long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+
+    return (millis < 1L ? 0 : Math.min(ROUND_TRIP_BUCKET_COUNT - 1, Long.SIZE - Long.numberOfLeadingZeros(millis)));
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  public InMemoryLitModelMetrics() {
+    super();
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Map<Key, Counters> counters = new ConcurrentHashMap<>();
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Gets the metrics of a model method of a component type.
+   *
+   * @param componentType The type of the component.
+   * @param method        The model method.
+   * @return The metrics, which are zero if nothing was recorded.
+   */
+  public MethodMetrics getMetrics(final Class<?> componentType, final Method method) {
+    final Counters methodCounters = counters.get(new Key(componentType, method));
+
+    return (methodCounters != null ? methodCounters.snapshot(componentType, method) : new Counters().snapshot(componentType, method));
+  }
+
+  /**
+   * Gets the metrics of every model method that was called.
+   *
+   * @return The metrics.
+   */
+  public List<MethodMetrics> getMetrics() {
+    final List<MethodMetrics> metrics = new ArrayList<>(counters.size());
+
+    counters.forEach((key, methodCounters) -> metrics.add(methodCounters.snapshot(key.componentType, key.method)));
+
+    return Collections.unmodifiableList(metrics);
+  }
+
+  /**
+   * Discards everything that was recorded.
+   */
+  public void reset() {
+    counters.clear();
+  }
+
+  private Counters counters(final Class<?> componentType, final Method method) {
+    return counters.computeIfAbsent(new Key(componentType, method), key -> new Counters());
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // LitModelMetrics
+  //
+
+  @Override
+  public void recordCall(final Class<?> componentType, final Method method) {
+    counters(componentType, method).calls.increment();
+  }
+
+  @Override
+  public void recordWrite(final Class<?> componentType, final Method method, final boolean redundant) {
+    final Counters methodCounters = counters(componentType, method);
+
+    methodCounters.writes.increment();
+
+    if(redundant) methodCounters.redundantWrites.increment();
+  }
+
+  @Override
+  public void recordPayload(final Class<?> componentType, final Method method, final long size) {
+    counters(componentType, method).payloadSize.add(size);
+  }
+
+  @Override
+  public void recordRoundTrip(final Class<?> componentType, final Method method, final long nanos) {
+    final Counters methodCounters = counters(componentType, method);
+
+    methodCounters.roundTripNanos.add(nanos);
+    methodCounters.roundTrips[roundTripBucket(nanos)].increment();
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * The metrics of a model method of a component type, at the time they were read.
+   */
+  @Immutable
+  public static final class MethodMetrics {
+
+    private MethodMetrics(final Class<?> componentType, final Method method, final long calls, final long writes, final long redundantWrites,
+        final long payloadSize, final long roundTripNanos, final long[] roundTrips) {
+      super();
+
+      this.componentType = componentType;
+      this.method = method;
+      this.calls = calls;
+      this.writes = writes;
+      this.redundantWrites = redundantWrites;
+      this.payloadSize = payloadSize;
+      this.roundTripNanos = roundTripNanos;
+      this.roundTrips = roundTrips;
+    }
+
+    private final Class<?> componentType;
+
+    private final Method method;
+
+    private final long calls;
+
+    private final long writes;
+
+    private final long redundantWrites;
+
+    private final long payloadSize;
+
+    private final long roundTripNanos;
+
+    private final long[] roundTrips;
+
+    public Class<?> getComponentType() {
+      return componentType;
+    }
+
+    public Method getMethod() {
+      return method;
+    }
+
+    public long getCalls() {
+      return calls;
+    }
+
+    public long getWrites() {
+      return writes;
+    }
+
+    /**
+     * Gets the number of writes of a value that the property already had.
+     *
+     * @return The number of redundant writes.
+     */
+    public long getRedundantWrites() {
+      return redundantWrites;
+    }
+
+    /**
+     * Gets the total {@link LitModelMetrics#estimatePayloadSize(Object) estimated size} of the arguments.
+     *
+     * @return The total payload size.
+     */
+    public long getPayloadSize() {
+      return payloadSize;
+    }
+
+    public long getRoundTripCount() {
+      long count = 0L;
+
+      for(final long bucketCount : roundTrips) {
+        count += bucketCount;
+      }
+
+      return count;
+    }
+
+    public long getRoundTripNanos() {
+      return roundTripNanos;
+    }
+
+    /**
+     * Gets the number of round trips in a bucket.
+     *
+     * @param bucket The bucket.
+     * @return The number of round trips.
+     * @see #getRoundTripBucketUpperBound(int)
+     */
+    public long getRoundTrips(final int bucket) {
+      return roundTrips[bucket];
+    }
+
+  }
+
+  private static final class Key {
+
+    private Key(final Class<?> componentType, final Method method) {
+      super();
+
+      this.componentType = componentType;
+      this.method = method;
+    }
+
+    private final Class<?> componentType;
+
+    private final Method method;
+
+    @Override
+    public boolean equals(final Object other) {
+      if(this == other) return true;
+      if(!(other instanceof Key)) return false;
+
+      final Key that = (Key)other;
+
+      return (componentType == that.componentType && method.equals(that.method));
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(componentType, method);
+    }
+
+  }
+
+  private static final class Counters {
+
+    private Counters() {
+      super();
+
+      for(int i = 0; i < roundTrips.length; i++) {
+        roundTrips[i] = new LongAdder();
+      }
+    }
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder writes = new LongAdder();
+
+    private final LongAdder redundantWrites = new LongAdder();
+
+    private final LongAdder payloadSize = new LongAdder();
+
+    private final LongAdder roundTripNanos = new LongAdder();
+
+    private final LongAdder[] roundTrips = new LongAdder[ROUND_TRIP_BUCKET_COUNT];
+
+    private MethodMetrics snapshot(final Class<?> componentType, final Method method) {
+      final long[] roundTripCounts = new long[roundTrips.length];
+
+      for(int i = 0; i < roundTrips.length; i++) {
+        roundTripCounts[i] = roundTrips[i].sum();
+      }
+
+      return new MethodMetrics(componentType, method, calls.sum(), writes.sum(), redundantWrites.sum(), payloadSize.sum(), roundTripNanos.sum(),
+          roundTripCounts);
+    }
+
+  }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.metrics;
+
+import com.vaadin.flow.internal.JsonCodec;
+import com.vaadin.flow.internal.JsonSerializer;
+import elemental.json.JsonValue;
+
+import java.lang.reflect.Method;
+
+/**
+ * Records the model calls that go through a {@link com.oliveryasuna.vaadin.lit.model.proxy.LitModelBinding}.
+ * Methods may be called by any thread, and must not throw.
+ */
+public interface LitModelMetrics {
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Gets the installed metrics.
+   *
+   * @return The installed metrics, {@link NoOpLitModelMetrics} by default.
+   */
+  static LitModelMetrics getInstance() {
+    return LitModelMetricsHolder.instance;
+  }
+
+  /**
+   * Installs metrics.
+   *
+   * @param metrics The metrics, or {@code null} to install {@link NoOpLitModelMetrics}.
+   */
+  static void setInstance(final LitModelMetrics metrics) {
+    LitModelMetricsHolder.instance = (metrics != null ? metrics : NoOpLitModelMetrics.getInstance());
+  }
+
+  /**
+   * Estimates the number of characters that a value takes when sent to the client.
+   *
+   * @param value The value.
+   * @return The estimated size, or {@code 0} if the value cannot be encoded.
+   */
+  static long estimatePayloadSize(final Object value) {
+    if(value == null) return 4L;
+    if(value instanceof String) return ((String)value).length() + 2L;
+    if(value instanceof JsonValue) return ((JsonValue)value).toJson().length();
+
+    try {
+      if(JsonCodec.canEncodeWithoutTypeInfo(value.getClass())) return JsonCodec.encodeWithoutTypeInfo(value).toJson().length();
+
+      return JsonSerializer.toJson(value).toJson().length();
+    } catch(final RuntimeException e) {
+      return 0L;
+    }
+  }
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Whether these metrics record anything.
+   * <p>
+   * If {@code false}, no other method is called.
+   *
+   * @return Whether these metrics record anything.
+   */
+  default boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * Records a call of a model method.
+   *
+   * @param componentType The type of the component.
+   * @param method        The model method.
+   */
+  void recordCall(Class<?> componentType, Method method);
+
+  /**
+   * Records a property write.
+   *
+   * @param componentType The type of the component.
+   * @param method        The model method.
+   * @param redundant     Whether the property already had the value, or was already being written with it in the same transaction.
+   */
+  void recordWrite(Class<?> componentType, Method method, boolean redundant);
+
+  /**
+   * Records the arguments of a property write or function call.
+   *
+   * @param componentType The type of the component.
+   * @param method        The model method.
+   * @param size          The {@link #estimatePayloadSize(Object) estimated size} of the arguments.
+   */
+  void recordPayload(Class<?> componentType, Method method, long size);
+
+  /**
+   * Records the successful completion of a function that returns a result.
+   * <p>
+   * Failures, timeouts and cancellations are not recorded.
+   *
+   * @param componentType The type of the component.
+   * @param method        The model method.
+   * @param nanos         The time from the call to the result, in nanoseconds.
+   */
+  void recordRoundTrip(Class<?> componentType, Method method, long nanos);
+
+}
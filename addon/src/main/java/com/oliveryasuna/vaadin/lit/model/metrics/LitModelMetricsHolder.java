@@ -16,34 +16,25 @@
  * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 
-package com.oliveryasuna.vaadin.lit.model.proxy;
+package com.oliveryasuna.vaadin.lit.model.metrics;
 
-import com.oliveryasuna.vaadin.lit.component.LitComponentBase;
-
-import java.util.concurrent.ConcurrentHashMap;
-
-public final class LitModelProxyComponentRegistry extends ConcurrentHashMap<Object, LitComponentBase<?>> {
+/**
+ * Holds the installed {@link LitModelMetrics}.
+ */
+final class LitModelMetricsHolder {
 
-  // Singleton
+  // Static fields
   //--------------------------------------------------
 
-  private static volatile LitModelProxyComponentRegistry INSTANCE;
-
-  public static LitModelProxyComponentRegistry getInstance() {
-    if(INSTANCE == null) {
-      synchronized(LitModelProxyComponentRegistry.class) {
-        if(INSTANCE == null) INSTANCE = new LitModelProxyComponentRegistry();
-      }
-    }
-
-    return INSTANCE;
-  }
+  static volatile LitModelMetrics instance = NoOpLitModelMetrics.getInstance();
 
   // Constructors
   //--------------------------------------------------
 
-  private LitModelProxyComponentRegistry() {
+  private LitModelMetricsHolder() {
     super();
+
+    throw new UnsupportedOperationException();
   }
 
 }
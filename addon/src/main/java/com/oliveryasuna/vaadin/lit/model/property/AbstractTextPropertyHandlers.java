@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.property;
+
+import com.oliveryasuna.vaadin.lit.model.annotation.LitProperty;
+import com.vaadin.flow.dom.Element;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
+
+import java.io.Serializable;
+
+/**
+ * Handles properties whose values are sent as text, e.g., enums and dates.
+ */
+public abstract class AbstractTextPropertyHandlers implements LitPropertyHandlers {
+
+  // Constructors
+  //--------------------------------------------------
+
+  protected AbstractTextPropertyHandlers() {
+    super();
+  }
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Parses a value.
+   *
+   * @param text The text.
+   * @return The value.
+   * @throws RuntimeException If {@code text} is invalid.
+   */
+  protected abstract Object parse(String text);
+
+  /**
+   * Formats a value.
+   *
+   * @param value The value, which is not {@code null}.
+   * @return The text.
+   */
+  protected String format(final Object value) {
+    return value.toString();
+  }
+
+  private Object parseDefaultValue(final LitProperty annotation) {
+    if(annotation.nullDefaultValue()) return null;
+
+    try {
+      return parse(annotation.defaultValue());
+    } catch(final IllegalArgumentException e) {
+      throw e;
+    } catch(final RuntimeException e) {
+      throw new IllegalArgumentException(e.getMessage(), e);
+    }
+  }
+
+  private Object getValue(final Element element, final String name, final Object defaultValue) {
+    if(!element.hasProperty(name)) return defaultValue;
+
+    final Serializable raw = element.getPropertyRaw(name);
+
+    if(raw == null || (raw instanceof JsonValue && ((JsonValue)raw).getType() == JsonType.NULL)) return null;
+
+    return parse(raw instanceof JsonValue ? ((JsonValue)raw).asString() : raw.toString());
+  }
+
+  private void setValue(final Element element, final String name, final Object value) {
+    element.setProperty(name, (value != null ? format(value) : null));
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // LitPropertyHandlers
+  //
+
+  @Override
+  public Object get(final Element element, final String name, final LitProperty annotation) throws Exception {
+    return getValue(element, name, parseDefaultValue(annotation));
+  }
+
+  @Override
+  public void set(final Element element, final String name, final Object value, final LitProperty annotation) throws Exception {
+    setValue(element, name, value);
+  }
+
+  @Override
+  public LitPropertyAccessor bind(final String name, final LitProperty annotation) {
+    final Object defaultValue = parseDefaultValue(annotation);
+
+    return new LitPropertyAccessor() {
+      @Override
+      public Object get(final Element element) {
+        return AbstractTextPropertyHandlers.this.getValue(element, name, defaultValue);
+      }
+
+      @Override
+      public void set(final Element element, final Object value) {
+        AbstractTextPropertyHandlers.this.setValue(element, name, value);
+      }
+    };
+  }
+
+}
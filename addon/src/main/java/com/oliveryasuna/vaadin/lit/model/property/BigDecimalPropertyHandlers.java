@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.property;
+
+import java.math.BigDecimal;
+
+/**
+ * Handles {@link BigDecimal} properties, which are sent as plain strings, so that they keep their precision.
+ */
+public class BigDecimalPropertyHandlers extends AbstractTextPropertyHandlers {
+
+  // Singleton
+  //--------------------------------------------------
+
+  private static final BigDecimalPropertyHandlers INSTANCE = new BigDecimalPropertyHandlers();
+
+  public static BigDecimalPropertyHandlers getInstance() {
+    return INSTANCE;
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  protected BigDecimalPropertyHandlers() {
+    super();
+  }
+
+  // Methods
+  //--------------------------------------------------
+
+  private Object readResolve() {
+    return INSTANCE;
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // AbstractTextPropertyHandlers
+  //
+
+  @Override
+  protected Object parse(final String text) {
+    return new BigDecimal(text);
+  }
+
+  @Override
+  protected String format(final Object value) {
+    return ((BigDecimal)value).toPlainString();
+  }
+
+}
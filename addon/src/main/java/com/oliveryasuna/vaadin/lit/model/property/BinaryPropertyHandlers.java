@@ -0,0 +1,471 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.property;
+
+import com.oliveryasuna.vaadin.lit.model.annotation.LitProperty;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.server.InputStreamFactory;
+import com.vaadin.flow.server.StreamRegistration;
+import com.vaadin.flow.server.StreamResource;
+import com.vaadin.flow.server.StreamResourceWriter;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinSession;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Handles binary properties: {@code byte[]}, {@link ByteBuffer}, {@link Path} and {@link InputStreamFactory}.
+ * Values are served as stream resources of the session, and the property is set to their URL.
+ */
+public class BinaryPropertyHandlers implements LitPropertyHandlers {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String STATE_KEY_PREFIX = BinaryPropertyHandlers.class.getName() + "#";
+
+  private static final int PARTIAL_CONTENT_STATUS = 206;
+
+  private static final int RANGE_NOT_SATISFIABLE_STATUS = 416;
+
+  // Singleton
+  //--------------------------------------------------
+
+  private static final BinaryPropertyHandlers INSTANCE = new BinaryPropertyHandlers();
+
+  public static BinaryPropertyHandlers getInstance() {
+    return INSTANCE;
+  }
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static Content toContent(final Object value) {
+    if(value instanceof byte[]) return new BytesContent((byte[])value);
+    if(value instanceof ByteBuffer) return new BufferContent((ByteBuffer)value);
+    if(value instanceof Path) return new PathContent(((Path)value).toUri());
+    if(value instanceof InputStreamFactory) return new FactoryContent((InputStreamFactory)value);
+
+    throw new IllegalArgumentException("Unsupported binary value [" + value.getClass().getName() + "].");
+  }
+
+  /**
+   * Parses a {@code Range} header.
+   *
+   * @param range  The header.
+   * @param length The length of the content.
+   * @return The first and last positions of the range, the whole content if the header is not a single byte range, or {@code null} if the range is not
+   *     satisfiable.
+   */
+  private static long[] parseRange(final String range, final long length) {
+    final long[] whole = {0L, length - 1L};
+
+    if(!range.startsWith("bytes=") || range.indexOf(',') >= 0 || length == 0L) return whole;
+
+    final String spec = range.substring("bytes=".length()).trim();
+    final int dash = spec.indexOf('-');
+
+    if(dash < 0) return whole;
+
+    try {
+      if(dash == 0) {
+        final long suffix = Long.parseLong(spec.substring(1));
+
+        return (suffix > 0L ? new long[] {Math.max(0L, length - suffix), length - 1L} : null);
+      }
+
+      final long first = Long.parseLong(spec.substring(0, dash));
+      final long last = (dash == spec.length() - 1 ? length - 1L : Math.min(Long.parseLong(spec.substring(dash + 1)), length - 1L));
+
+      return (first < length && first <= last ? new long[] {first, last} : null);
+    } catch(final NumberFormatException e) {
+      return whole;
+    }
+  }
+
+  private static Component component(final Element element) {
+    return element.getComponent().orElseThrow(() -> new IllegalStateException("Binary properties require an element of a component."));
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  protected BinaryPropertyHandlers() {
+    super();
+  }
+
+  // Methods
+  //--------------------------------------------------
+
+  private Object readResolve() {
+    return INSTANCE;
+  }
+
+  private State getState(final Element element, final String name) {
+    final Component component = component(element);
+    final String key = STATE_KEY_PREFIX + name;
+    final State existing = (State)ComponentUtil.getData(component, key);
+
+    if(existing != null) return existing;
+
+    final State state = new State(element, name);
+
+    ComponentUtil.setData(component, key, state);
+
+    element.addAttachListener(event -> component.getUI().ifPresent(state::publish));
+    element.addDetachListener(event -> state.release());
+
+    return state;
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // LitPropertyHandlers
+  //
+
+  @Override
+  public Object get(final Element element, final String name, final LitProperty annotation) throws Exception {
+    final Content content = getState(element, name).content;
+
+    return (content != null ? content.getValue() : null);
+  }
+
+  @Override
+  public void set(final Element element, final String name, final Object value, final LitProperty annotation) throws Exception {
+    final State state = getState(element, name);
+
+    state.release();
+    state.content = (value != null ? toContent(value) : null);
+    state.contentType = annotation.contentType();
+
+    component(element).getUI().ifPresent(state::publish);
+  }
+
+  @Override
+  public boolean isElementProperty() {
+    return false;
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * The value and resource of a property of a component.
+   */
+  private static final class State implements Serializable {
+
+    private State(final Element element, final String name) {
+      super();
+
+      this.element = element;
+      this.name = name;
+    }
+
+    private final Element element;
+
+    private final String name;
+
+    private Content content;
+
+    private String contentType;
+
+    private StreamRegistration registration;
+
+    private void publish(final UI ui) {
+      if(content == null || registration != null) return;
+
+      final StreamResource resource = new StreamResource(content.getName(name), new ContentWriter(content));
+
+      if(!contentType.isEmpty()) resource.setContentType(contentType);
+
+      registration = ui.getSession().getResourceRegistry().registerResource(resource);
+
+      element.setProperty(name, registration.getResourceUri().toString());
+    }
+
+    private void release() {
+      if(registration == null) return;
+
+      registration.unregister();
+      registration = null;
+
+      element.removeProperty(name);
+    }
+
+  }
+
+  /**
+   * Serves a {@link Content}, or the requested range of it.
+   */
+  private static final class ContentWriter implements StreamResourceWriter {
+
+    private ContentWriter(final Content content) {
+      super();
+
+      this.content = content;
+    }
+
+    private final Content content;
+
+    @Override
+    public void accept(final OutputStream stream, final VaadinSession session) throws IOException {
+      final long length = content.getLength();
+      final VaadinRequest request = VaadinRequest.getCurrent();
+      final VaadinResponse response = VaadinResponse.getCurrent();
+
+      if(length < 0L) {
+        content.write(stream, 0L, -1L);
+        return;
+      }
+
+      if(response == null) {
+        content.write(stream, 0L, length);
+        return;
+      }
+
+      final String range = (request != null ? request.getHeader("Range") : null);
+      final long[] bounds = (range != null ? parseRange(range, length) : new long[] {0L, length - 1L});
+
+      response.setHeader("Accept-Ranges", "bytes");
+
+      if(bounds == null) {
+        response.setStatus(RANGE_NOT_SATISFIABLE_STATUS);
+        response.setHeader("Content-Range", "bytes */" + length);
+        return;
+      }
+
+      final long count = bounds[1] - bounds[0] + 1L;
+
+      if(count != length) {
+        response.setStatus(PARTIAL_CONTENT_STATUS);
+        response.setHeader("Content-Range", "bytes " + bounds[0] + "-" + bounds[1] + "/" + length);
+      }
+
+      response.setHeader("Content-Length", Long.toString(count));
+
+      if(count > 0L) content.write(stream, bounds[0], count);
+    }
+
+  }
+
+  /**
+   * A binary value.
+   */
+  private abstract static class Content implements Serializable {
+
+    abstract Object getValue();
+
+    /**
+     * @param name The name of the property.
+     */
+    String getName(final String name) {
+      return name;
+    }
+
+    /**
+     * @return The length, or {@code -1} if it is unknown.
+     */
+    abstract long getLength() throws IOException;
+
+    /**
+     * @param count The number of bytes, or {@code -1} if the length is unknown.
+     */
+    abstract void write(OutputStream stream, long position, long count) throws IOException;
+
+  }
+
+  private static final class BytesContent extends Content {
+
+    private BytesContent(final byte[] bytes) {
+      super();
+
+      this.bytes = bytes;
+    }
+
+    private final byte[] bytes;
+
+    @Override
+    Object getValue() {
+      return bytes;
+    }
+
+    @Override
+    long getLength() {
+      return bytes.length;
+    }
+
+    @Override
+    void write(final OutputStream stream, final long position, final long count) throws IOException {
+      stream.write(bytes, (int)position, (int)count);
+    }
+
+  }
+
+  private static final class BufferContent extends Content {
+
+    private BufferContent(final ByteBuffer buffer) {
+      super();
+
+      this.buffer = buffer.asReadOnlyBuffer();
+    }
+
+    private transient ByteBuffer buffer;
+
+    @Override
+    Object getValue() {
+      return buffer.duplicate();
+    }
+
+    @Override
+    long getLength() {
+      return buffer.remaining();
+    }
+
+    @Override
+    void write(final OutputStream stream, final long position, final long count) throws IOException {
+      final ByteBuffer range = buffer.duplicate();
+
+      range.position(range.position() + (int)position);
+      range.limit(range.position() + (int)count);
+
+      final WritableByteChannel channel = Channels.newChannel(stream);
+
+      while(range.hasRemaining()) {
+        channel.write(range);
+      }
+    }
+
+    private void writeObject(final ObjectOutputStream stream) throws IOException {
+      stream.defaultWriteObject();
+
+      final byte[] bytes = new byte[buffer.remaining()];
+
+      buffer.duplicate().get(bytes);
+      stream.writeInt(bytes.length);
+      stream.write(bytes);
+    }
+
+    private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+      stream.defaultReadObject();
+
+      final byte[] bytes = new byte[stream.readInt()];
+
+      stream.readFully(bytes);
+      buffer = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+  }
+
+  private static final class PathContent extends Content {
+
+    private PathContent(final URI uri) {
+      super();
+
+      this.uri = uri;
+    }
+
+    /**
+     * {@link Path}s are not serializable.
+     */
+    private final URI uri;
+
+    @Override
+    Object getValue() {
+      return Path.of(uri);
+    }
+
+    @Override
+    String getName(final String name) {
+      final Path fileName = Path.of(uri).getFileName();
+
+      return (fileName != null ? fileName.toString() : name);
+    }
+
+    @Override
+    long getLength() throws IOException {
+      return Files.size(Path.of(uri));
+    }
+
+    @Override
+    void write(final OutputStream stream, final long position, final long count) throws IOException {
+      try(final FileChannel file = FileChannel.open(Path.of(uri), StandardOpenOption.READ)) {
+        final WritableByteChannel channel = Channels.newChannel(stream);
+        final long end = position + count;
+
+        for(long current = position; current < end; ) {
+          final long transferred = file.transferTo(current, end - current, channel);
+
+          // The file was truncated.
+          if(transferred <= 0L) break;
+
+          current += transferred;
+        }
+      }
+    }
+
+  }
+
+  private static final class FactoryContent extends Content {
+
+    private FactoryContent(final InputStreamFactory factory) {
+      super();
+
+      this.factory = factory;
+    }
+
+    private final InputStreamFactory factory;
+
+    @Override
+    Object getValue() {
+      return factory;
+    }
+
+    @Override
+    long getLength() {
+      return -1L;
+    }
+
+    @Override
+    void write(final OutputStream stream, final long position, final long count) throws IOException {
+      try(final InputStream input = factory.createInputStream()) {
+        input.transferTo(stream);
+      }
+    }
+
+  }
+
+}
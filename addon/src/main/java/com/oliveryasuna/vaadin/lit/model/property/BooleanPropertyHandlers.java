@@ -33,6 +33,19 @@ public class BooleanPropertyHandlers implements LitPropertyHandlers {
     return INSTANCE;
   }
 
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Unlike {@link Boolean#parseBoolean(String)}, rejects anything other than {@code true} and {@code false}.
+   */
+  private static boolean parseDefaultValue(final String defaultValue) {
+    if("true".equalsIgnoreCase(defaultValue)) return true;
+    if("false".equalsIgnoreCase(defaultValue)) return false;
+
+    throw new IllegalArgumentException("For input string: \"" + defaultValue + "\"");
+  }
+
   // Constructors
   //--------------------------------------------------
 
@@ -40,6 +53,13 @@ public class BooleanPropertyHandlers implements LitPropertyHandlers {
     super();
   }
 
+  // Methods
+  //--------------------------------------------------
+
+  private Object readResolve() {
+    return INSTANCE;
+  }
+
   // Overrides
   //--------------------------------------------------
 
@@ -56,4 +76,40 @@ public class BooleanPropertyHandlers implements LitPropertyHandlers {
     element.setProperty(name, (boolean)value);
   }
 
+  @Override
+  public LitPropertyAccessor bind(final String name, final LitProperty annotation) {
+    // Subclasses that override get/set keep their behavior.
+    if(getClass() != BooleanPropertyHandlers.class) return LitPropertyHandlers.super.bind(name, annotation);
+
+    return new Accessor(name, parseDefaultValue(annotation.defaultValue()));
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  private static final class Accessor implements BooleanPropertyAccessor {
+
+    private Accessor(final String name, final boolean defaultValue) {
+      super();
+
+      this.name = name;
+      this.defaultValue = defaultValue;
+    }
+
+    private final String name;
+
+    private final boolean defaultValue;
+
+    @Override
+    public boolean getBoolean(final Element element) {
+      return element.getProperty(name, defaultValue);
+    }
+
+    @Override
+    public void setBoolean(final Element element, final boolean value) {
+      element.setProperty(name, value);
+    }
+
+  }
+
 }
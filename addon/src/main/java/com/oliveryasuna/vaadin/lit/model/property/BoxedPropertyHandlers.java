@@ -0,0 +1,187 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.property;
+
+import com.oliveryasuna.vaadin.lit.model.annotation.LitProperty;
+import com.vaadin.flow.dom.Element;
+import elemental.json.Json;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Handles properties of the boxed types {@link Boolean}, {@link Integer}, {@link Long}, {@link Float} and {@link Double}.
+ */
+public class BoxedPropertyHandlers implements LitPropertyHandlers {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final Map<Class<?>, Function<String, Object>> PARSERS = Map.of(
+      Boolean.class, Boolean::parseBoolean,
+      Integer.class, Integer::valueOf,
+      Long.class, Long::valueOf,
+      Float.class, Float::valueOf,
+      Double.class, Double::valueOf
+  );
+
+  private static final ClassValue<BoxedPropertyHandlers> INSTANCES = new ClassValue<>() {
+    @Override
+    protected BoxedPropertyHandlers computeValue(final Class<?> type) {
+      return new BoxedPropertyHandlers(type);
+    }
+  };
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Checks whether a type is handled as a boxed type.
+   *
+   * @param type The type.
+   * @return Whether {@code type} is {@link Boolean}, {@link Integer}, {@link Long}, {@link Float} or {@link Double}.
+   */
+  public static boolean supports(final Class<?> type) {
+    return PARSERS.containsKey(type);
+  }
+
+  /**
+   * Gets the handlers of a type.
+   *
+   * @param type The type.
+   * @return The handlers.
+   * @throws IllegalArgumentException If {@code type} is not {@link #supports(Class) supported}.
+   */
+  public static BoxedPropertyHandlers of(final Class<?> type) {
+    if(!supports(type)) throw new IllegalArgumentException("Unsupported boxed property type [" + type.getName() + "].");
+
+    return INSTANCES.get(type);
+  }
+
+  private static void setValue(final Element element, final String name, final Object value) {
+    if(value == null) {
+      element.setPropertyJson(name, Json.createNull());
+    } else if(value instanceof Boolean) {
+      element.setProperty(name, (Boolean)value);
+    } else {
+      element.setProperty(name, ((Number)value).doubleValue());
+    }
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  protected BoxedPropertyHandlers(final Class<?> type) {
+    super();
+
+    this.type = type;
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Class<?> type;
+
+  // Methods
+  //--------------------------------------------------
+
+  private Object readResolve() {
+    return (getClass() == BoxedPropertyHandlers.class ? INSTANCES.get(type) : this);
+  }
+
+  protected Object parseDefaultValue(final LitProperty annotation) {
+    return (annotation.nullDefaultValue() ? null : PARSERS.get(type).apply(annotation.defaultValue()));
+  }
+
+  /**
+   * Converts a raw property value.
+   *
+   * @param raw The raw value, which is not {@code null}.
+   * @return The value, of the boxed type.
+   */
+  protected Object fromRaw(final Serializable raw) {
+    if(raw instanceof JsonValue && ((JsonValue)raw).getType() == JsonType.NULL) return null;
+
+    if(raw instanceof Number) {
+      final Number number = (Number)raw;
+
+      if(type == Integer.class) return number.intValue();
+      if(type == Long.class) return number.longValue();
+      if(type == Float.class) return number.floatValue();
+      if(type == Double.class) return number.doubleValue();
+    }
+
+    if(raw instanceof Boolean && type == Boolean.class) return raw;
+
+    // The client sent another type.
+    return PARSERS.get(type).apply(String.valueOf(raw));
+  }
+
+  private Object getValue(final Element element, final String name, final Object defaultValue) {
+    if(!element.hasProperty(name)) return defaultValue;
+
+    final Serializable raw = element.getPropertyRaw(name);
+
+    return (raw != null ? fromRaw(raw) : null);
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // LitPropertyHandlers
+  //
+
+  @Override
+  public Object get(final Element element, final String name, final LitProperty annotation) throws Exception {
+    return getValue(element, name, parseDefaultValue(annotation));
+  }
+
+  @Override
+  public void set(final Element element, final String name, final Object value, final LitProperty annotation) throws Exception {
+    setValue(element, name, value);
+  }
+
+  @Override
+  public LitPropertyAccessor bind(final String name, final LitProperty annotation) {
+    final Object defaultValue = parseDefaultValue(annotation);
+
+    return new LitPropertyAccessor() {
+      @Override
+      public Object get(final Element element) {
+        return BoxedPropertyHandlers.this.getValue(element, name, defaultValue);
+      }
+
+      @Override
+      public void set(final Element element, final Object value) {
+        setValue(element, name, value);
+      }
+    };
+  }
+
+  // Getters
+  //--------------------------------------------------
+
+  public final Class<?> getType() {
+    return type;
+  }
+
+}
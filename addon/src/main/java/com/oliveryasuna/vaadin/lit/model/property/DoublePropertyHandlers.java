@@ -40,6 +40,13 @@ public class DoublePropertyHandlers implements LitPropertyHandlers {
     super();
   }
 
+  // Methods
+  //--------------------------------------------------
+
+  private Object readResolve() {
+    return INSTANCE;
+  }
+
   // Overrides
   //--------------------------------------------------
 
@@ -57,4 +64,40 @@ public class DoublePropertyHandlers implements LitPropertyHandlers {
     element.setProperty(name, (double)value);
   }
 
+  @Override
+  public LitPropertyAccessor bind(final String name, final LitProperty annotation) {
+    // Subclasses that override get/set keep their behavior.
+    if(getClass() != DoublePropertyHandlers.class) return LitPropertyHandlers.super.bind(name, annotation);
+
+    return new Accessor(name, Double.parseDouble(annotation.defaultValue()));
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  private static final class Accessor implements DoublePropertyAccessor {
+
+    private Accessor(final String name, final double defaultValue) {
+      super();
+
+      this.name = name;
+      this.defaultValue = defaultValue;
+    }
+
+    private final String name;
+
+    private final double defaultValue;
+
+    @Override
+    public double getDouble(final Element element) {
+      return element.getProperty(name, defaultValue);
+    }
+
+    @Override
+    public void setDouble(final Element element, final double value) {
+      element.setProperty(name, value);
+    }
+
+  }
+
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.property;
+
+/**
+ * Handles enum properties, which are sent as the names of their constants.
+ */
+public class EnumPropertyHandlers extends AbstractTextPropertyHandlers {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final ClassValue<EnumPropertyHandlers> INSTANCES = new ClassValue<>() {
+    @Override
+    protected EnumPropertyHandlers computeValue(final Class<?> type) {
+      return new EnumPropertyHandlers(type.asSubclass(Enum.class));
+    }
+  };
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Gets the handlers of an enum type.
+   *
+   * @param type The enum type.
+   * @return The handlers.
+   * @throws IllegalArgumentException If {@code type} is not an enum.
+   */
+  public static EnumPropertyHandlers of(final Class<?> type) {
+    if(!type.isEnum()) throw new IllegalArgumentException("Unsupported enum property type [" + type.getName() + "].");
+
+    return INSTANCES.get(type);
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  @SuppressWarnings("rawtypes")
+  protected EnumPropertyHandlers(final Class<? extends Enum> type) {
+    super();
+
+    this.type = type;
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  @SuppressWarnings("rawtypes")
+  private final Class<? extends Enum> type;
+
+  // Methods
+  //--------------------------------------------------
+
+  private Object readResolve() {
+    return (getClass() == EnumPropertyHandlers.class ? INSTANCES.get(type) : this);
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // AbstractTextPropertyHandlers
+  //
+
+  @Override
+  @SuppressWarnings("unchecked")
+  protected Object parse(final String text) {
+    return Enum.valueOf(type, text);
+  }
+
+  @Override
+  protected String format(final Object value) {
+    return ((Enum<?>)value).name();
+  }
+
+  // Getters
+  //--------------------------------------------------
+
+  @SuppressWarnings("rawtypes")
+  public final Class<? extends Enum> getType() {
+    return type;
+  }
+
+}
@@ -40,6 +40,13 @@ public class IntegerPropertyHandlers implements LitPropertyHandlers {
     super();
   }
 
+  // Methods
+  //--------------------------------------------------
+
+  private Object readResolve() {
+    return INSTANCE;
+  }
+
   // Overrides
   //--------------------------------------------------
 
@@ -56,4 +63,40 @@ public class IntegerPropertyHandlers implements LitPropertyHandlers {
     element.setProperty(name, (int)value);
   }
 
+  @Override
+  public LitPropertyAccessor bind(final String name, final LitProperty annotation) {
+    // Subclasses that override get/set keep their behavior.
+    if(getClass() != IntegerPropertyHandlers.class) return LitPropertyHandlers.super.bind(name, annotation);
+
+    return new Accessor(name, Integer.parseInt(annotation.defaultValue()));
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  private static final class Accessor implements IntPropertyAccessor {
+
+    private Accessor(final String name, final int defaultValue) {
+      super();
+
+      this.name = name;
+      this.defaultValue = defaultValue;
+    }
+
+    private final String name;
+
+    private final int defaultValue;
+
+    @Override
+    public int getInt(final Element element) {
+      return element.getProperty(name, defaultValue);
+    }
+
+    @Override
+    public void setInt(final Element element, final int value) {
+      element.setProperty(name, value);
+    }
+
+  }
+
 }
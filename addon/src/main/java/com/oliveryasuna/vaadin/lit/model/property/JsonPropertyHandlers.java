@@ -0,0 +1,368 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.property;
+
+import com.oliveryasuna.vaadin.lit.model.annotation.LitProperty;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.JsonSerializer;
+import com.vaadin.flow.internal.JsonUtils;
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonException;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
+
+import java.io.Serializable;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Handles properties of JSON-like types: {@link JsonObject}, {@code Map<String, ?>} and beans, sending only the paths that changed.
+ */
+public class JsonPropertyHandlers implements LitPropertyHandlers {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String PATH_KEY = "p";
+
+  private static final String VALUE_KEY = "v";
+
+  /**
+   * Applies the operations {@code $1} to the property {@code $0}.
+   * An operation without a value removes its path.
+   */
+  private static final String APPLY_EXPRESSION = "" +
+      "const name = $0;" +
+      "for(const operation of $1) {" +
+      "  const path = operation." + PATH_KEY + ";" +
+      "  if(path.length === 0) { this[name] = operation." + VALUE_KEY + "; continue; }" +
+      "  if(this[name] === null || typeof this[name] !== 'object') this[name] = {};" +
+      "  let target = this[name];" +
+      "  for(let i = 0; i < path.length - 1; i++) {" +
+      "    if(target[path[i]] === null || typeof target[path[i]] !== 'object') target[path[i]] = {};" +
+      "    target = target[path[i]];" +
+      "  }" +
+      "  if('" + VALUE_KEY + "' in operation) target[path[path.length - 1]] = operation." + VALUE_KEY + ";" +
+      "  else delete target[path[path.length - 1]];" +
+      "}" +
+      "this.requestUpdate(name);";
+
+  private static final String STATE_KEY_PREFIX = JsonPropertyHandlers.class.getName() + "#";
+
+  private static final ClassValue<JsonPropertyHandlers> INSTANCES = new ClassValue<>() {
+    @Override
+    protected JsonPropertyHandlers computeValue(final Class<?> type) {
+      return new JsonPropertyHandlers(type);
+    }
+  };
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Checks whether a type is handled as JSON.
+   *
+   * @param type The type.
+   * @return Whether {@code type} is {@link JsonObject}, {@link Map}, or a bean with a public no-argument constructor outside of {@code java.*}.
+   */
+  public static boolean supports(final Class<?> type) {
+    if(type.equals(JsonObject.class) || type.equals(Map.class)) return true;
+
+    if(type.isPrimitive() || type.isArray() || type.isInterface() || type.isEnum() || Modifier.isAbstract(type.getModifiers())) return false;
+    if(type.getName().startsWith("java.")) return false;
+
+    try {
+      type.getConstructor();
+
+      return true;
+    } catch(final NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Gets the handlers of a type.
+   *
+   * @param type The type.
+   * @return The handlers.
+   * @throws IllegalArgumentException If {@code type} is not {@link #supports(Class) supported}.
+   */
+  public static JsonPropertyHandlers of(final Class<?> type) {
+    if(!supports(type)) throw new IllegalArgumentException("Unsupported JSON property type [" + type.getName() + "].");
+
+    return INSTANCES.get(type);
+  }
+
+  private static Object toJava(final JsonValue value) {
+    switch(value.getType()) {
+      case OBJECT:
+        final JsonObject object = (JsonObject)value;
+        final Map<String, Object> map = new LinkedHashMap<>();
+
+        for(final String key : object.keys()) {
+          map.put(key, toJava(object.get(key)));
+        }
+
+        return map;
+      case ARRAY:
+        final JsonArray array = (JsonArray)value;
+        final List<Object> list = new ArrayList<>(array.length());
+
+        for(int i = 0; i < array.length(); i++) {
+          list.add(toJava(array.get(i)));
+        }
+
+        return list;
+      case STRING:
+        return value.asString();
+      case NUMBER:
+        return value.asNumber();
+      case BOOLEAN:
+        return value.asBoolean();
+      default:
+        return null;
+    }
+  }
+
+  private static JsonValue copy(final JsonValue value) {
+    return Json.instance().parse(value.toJson());
+  }
+
+  /**
+   * Appends the operations that turn {@code oldValue} into {@code newValue}.
+   *
+   * @param path       The path of both values.
+   * @param oldValue   The old value, or {@code null} if there is none.
+   * @param newValue   The new value.
+   * @param operations The operations.
+   */
+  private static void diff(final List<String> path, final JsonValue oldValue, final JsonValue newValue, final JsonArray operations) {
+    if(oldValue != null && oldValue.getType() == JsonType.OBJECT && newValue.getType() == JsonType.OBJECT) {
+      final JsonObject oldObject = (JsonObject)oldValue;
+      final JsonObject newObject = (JsonObject)newValue;
+
+      for(final String key : oldObject.keys()) {
+        if(newObject.hasKey(key)) continue;
+
+        path.add(key);
+        operations.set(operations.length(), operation(path, null));
+        path.remove(path.size() - 1);
+      }
+
+      for(final String key : newObject.keys()) {
+        path.add(key);
+        diff(path, (oldObject.hasKey(key) ? oldObject.get(key) : null), newObject.get(key), operations);
+        path.remove(path.size() - 1);
+      }
+
+      return;
+    }
+
+    if(oldValue == null || !JsonUtils.jsonEquals(oldValue, newValue)) operations.set(operations.length(), operation(path, newValue));
+  }
+
+  /**
+   * @param value The value, or {@code null} to remove the path.
+   */
+  private static JsonObject operation(final List<String> path, final JsonValue value) {
+    final JsonObject operation = Json.createObject();
+    final JsonArray pathArray = Json.createArray();
+
+    for(final String key : path) {
+      pathArray.set(pathArray.length(), key);
+    }
+
+    operation.put(PATH_KEY, pathArray);
+
+    if(value != null) operation.put(VALUE_KEY, value);
+
+    return operation;
+  }
+
+  private static Component component(final Element element) {
+    return element.getComponent().orElseThrow(() -> new IllegalStateException("JSON properties require an element of a component."));
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  protected JsonPropertyHandlers(final Class<?> type) {
+    super();
+
+    this.type = type;
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Class<?> type;
+
+  // Methods
+  //--------------------------------------------------
+
+  private Object readResolve() {
+    return (getClass() == JsonPropertyHandlers.class ? INSTANCES.get(type) : this);
+  }
+
+  protected JsonValue encode(final Object value) {
+    if(value == null) return Json.createNull();
+    if(value instanceof JsonValue) return copy((JsonValue)value);
+
+    if(value instanceof Map) {
+      @SuppressWarnings("unchecked")
+      final Map<String, ?> map = (Map<String, ?>)value;
+
+      return JsonUtils.mapToJson(map);
+    }
+
+    return JsonSerializer.toJson(value);
+  }
+
+  protected Object decode(final JsonValue value) {
+    if(value.getType() == JsonType.NULL) return null;
+    if(type.equals(JsonObject.class)) return copy(value);
+    if(type.equals(Map.class)) return toJava(value);
+
+    return JsonSerializer.toObject(type, value);
+  }
+
+  private State getState(final Element element, final String name) {
+    final Component component = component(element);
+    final String key = STATE_KEY_PREFIX + name;
+    final State existing = (State)ComponentUtil.getData(component, key);
+
+    if(existing != null) return existing;
+
+    final State state = new State();
+
+    ComponentUtil.setData(component, key, state);
+
+    // A new client element has none of the values.
+    element.addAttachListener(event -> {
+      if(state.value != null) send(element, name, null, state.value);
+    });
+
+    return state;
+  }
+
+  private void send(final Element element, final String name, final JsonValue oldValue, final JsonValue newValue) {
+    final JsonArray operations = Json.createArray();
+
+    diff(new ArrayList<>(), oldValue, newValue, operations);
+
+    if(operations.length() > 0) element.executeJs(APPLY_EXPRESSION, name, operations);
+  }
+
+  private Object getValue(final Element element, final String name, final JsonValue defaultValue) {
+    final State state = getState(element, name);
+    final JsonValue value = (state.value != null ? state.value : defaultValue);
+
+    return (value != null ? decode(value) : null);
+  }
+
+  private void setValue(final Element element, final String name, final Object value) {
+    final State state = getState(element, name);
+    final JsonValue oldValue = state.value;
+    final JsonValue newValue = encode(value);
+
+    state.value = newValue;
+
+    // Otherwise, the value is sent on attach.
+    if(element.getNode().isAttached()) send(element, name, oldValue, newValue);
+  }
+
+  private JsonValue parseDefaultValue(final LitProperty annotation) {
+    if(annotation.nullDefaultValue()) return null;
+
+    try {
+      final JsonValue defaultValue = Json.instance().parse(annotation.defaultValue());
+
+      decode(defaultValue);
+
+      return defaultValue;
+    } catch(final JsonException | IllegalArgumentException | IllegalStateException e) {
+      throw new IllegalArgumentException("Invalid JSON default value [" + annotation.defaultValue() + "].", e);
+    }
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // LitPropertyHandlers
+  //
+
+  @Override
+  public Object get(final Element element, final String name, final LitProperty annotation) throws Exception {
+    return getValue(element, name, parseDefaultValue(annotation));
+  }
+
+  @Override
+  public void set(final Element element, final String name, final Object value, final LitProperty annotation) throws Exception {
+    setValue(element, name, value);
+  }
+
+  @Override
+  public boolean isElementProperty() {
+    return false;
+  }
+
+  @Override
+  public LitPropertyAccessor bind(final String name, final LitProperty annotation) {
+    final JsonValue defaultValue = parseDefaultValue(annotation);
+
+    return new LitPropertyAccessor() {
+      @Override
+      public Object get(final Element element) {
+        return JsonPropertyHandlers.this.getValue(element, name, defaultValue);
+      }
+
+      @Override
+      public void set(final Element element, final Object value) {
+        JsonPropertyHandlers.this.setValue(element, name, value);
+      }
+    };
+  }
+
+  // Getters
+  //--------------------------------------------------
+
+  public final Class<?> getType() {
+    return type;
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * The last value of a property of a component.
+   */
+  private static final class State implements Serializable {
+
+    private JsonValue value;
+
+  }
+
+}
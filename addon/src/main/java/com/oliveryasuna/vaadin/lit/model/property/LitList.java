@@ -0,0 +1,310 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.property;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.internal.JsonSerializer;
+import elemental.json.Json;
+import elemental.json.JsonArray;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A list property of a Lit element, whose mutations are sent as splices once per round trip.
+ * Not thread-safe; use it while the session is locked.
+ *
+ * @param <E> The type of the items.
+ */
+public final class LitList<E> extends AbstractList<E> implements RandomAccess, Serializable {
+
+  // Static fields
+  //--------------------------------------------------
+
+  /**
+   * Must match {@code LitListMixin}.
+   */
+  private static final String APPLY_FUNCTION_NAME = "applyLitListSplices";
+
+  /**
+   * The delete count that replaces all of the items.
+   * Must match {@code LitListMixin}.
+   */
+  private static final int DELETE_ALL = -1;
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static List<Object> singleton(final Object item) {
+    final List<Object> list = new ArrayList<>(1);
+
+    list.add(item);
+
+    return list;
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  LitList(final Component component, final String propertyName) {
+    super();
+
+    this.component = component;
+    this.propertyName = propertyName;
+
+    // A new client element has none of the items.
+    component.getElement().addAttachListener(event -> {
+      synced = false;
+      splices.clear();
+
+      schedule();
+    });
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Component component;
+
+  private final String propertyName;
+
+  private final ArrayList<E> items = new ArrayList<>();
+
+  private final ArrayList<Splice> splices = new ArrayList<>();
+
+  /**
+   * Whether the client has the items, apart from {@link #splices}.
+   */
+  private boolean synced;
+
+  private boolean scheduled;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Moves an item.
+   *
+   * @param fromIndex The index of the item.
+   * @param toIndex   The index of the item after it is moved.
+   */
+  public void move(final int fromIndex, final int toIndex) {
+    if(fromIndex == toIndex) {
+      rangeCheck(fromIndex);
+      return;
+    }
+
+    add(toIndex, remove(fromIndex));
+  }
+
+  /**
+   * Replaces all of the items.
+   *
+   * @param items The new items.
+   */
+  public void setAll(final Collection<? extends E> items) {
+    final int size = this.items.size();
+
+    this.items.clear();
+    this.items.addAll(items);
+    modCount++;
+
+    record(0, size, new ArrayList<>(items));
+  }
+
+  private void rangeCheck(final int index) {
+    if(index < 0 || index >= items.size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + items.size());
+  }
+
+  private void record(final int index, final int deleteCount, final List<Object> inserted) {
+    if(deleteCount == 0 && inserted.isEmpty()) return;
+
+    // All of the items are sent anyway.
+    if(!synced) {
+      schedule();
+      return;
+    }
+
+    final Splice last = (splices.isEmpty() ? null : splices.get(splices.size() - 1));
+
+    if(last != null && deleteCount == 0 && index == last.index + last.items.size()) {
+      // Consecutive insertions, e.g., appends.
+      last.items.addAll(inserted);
+    } else if(last != null && deleteCount == 1 && inserted.size() == 1 && index >= last.index && index < last.index + last.items.size()) {
+      // Replacement of an item that is still pending.
+      last.items.set(index - last.index, inserted.get(0));
+    } else {
+      splices.add(new Splice(index, deleteCount, inserted));
+    }
+
+    schedule();
+  }
+
+  private void schedule() {
+    if(scheduled) return;
+
+    scheduled = true;
+
+    component.getElement().getNode().runWhenAttached(ui -> ui.beforeClientResponse(component, context -> flush()));
+  }
+
+  private void flush() {
+    scheduled = false;
+
+    int insertedCount = 0;
+
+    for(final Splice splice : splices) {
+      insertedCount += splice.items.size();
+    }
+
+    final JsonArray operations = Json.createArray();
+
+    if(!synced || insertedCount > items.size()) {
+      operations.set(0, new Splice(0, DELETE_ALL, new ArrayList<>(items)).toJson());
+    } else {
+      for(final Splice splice : splices) {
+        operations.set(operations.length(), splice.toJson());
+      }
+    }
+
+    splices.clear();
+    synced = true;
+
+    if(operations.length() > 0) component.getElement().callJsFunction(APPLY_FUNCTION_NAME, propertyName, operations);
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // AbstractList
+  //
+
+  @Override
+  public E get(final int index) {
+    return items.get(index);
+  }
+
+  @Override
+  public int size() {
+    return items.size();
+  }
+
+  @Override
+  public E set(final int index, final E item) {
+    final E previous = items.set(index, item);
+
+    record(index, 1, singleton(item));
+
+    return previous;
+  }
+
+  @Override
+  public void add(final int index, final E item) {
+    items.add(index, item);
+    modCount++;
+
+    record(index, 0, singleton(item));
+  }
+
+  @Override
+  public boolean addAll(final int index, final Collection<? extends E> items) {
+    if(!this.items.addAll(index, items)) return false;
+
+    modCount++;
+
+    record(index, 0, new ArrayList<>(items));
+
+    return true;
+  }
+
+  @Override
+  public boolean addAll(final Collection<? extends E> items) {
+    return addAll(this.items.size(), items);
+  }
+
+  @Override
+  public E remove(final int index) {
+    final E item = items.remove(index);
+
+    modCount++;
+
+    record(index, 1, new ArrayList<>(0));
+
+    return item;
+  }
+
+  @Override
+  protected void removeRange(final int fromIndex, final int toIndex) {
+    items.subList(fromIndex, toIndex).clear();
+    modCount++;
+
+    record(fromIndex, toIndex - fromIndex, new ArrayList<>(0));
+  }
+
+  @Override
+  public void clear() {
+    removeRange(0, items.size());
+  }
+
+  // Getters
+  //--------------------------------------------------
+
+  public String getPropertyName() {
+    return propertyName;
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * Removes {@code deleteCount} items at {@code index}, and inserts {@code items} in their place.
+   */
+  private static final class Splice implements Serializable {
+
+    private Splice(final int index, final int deleteCount, final List<Object> items) {
+      super();
+
+      this.index = index;
+      this.deleteCount = deleteCount;
+      this.items = items;
+    }
+
+    private final int index;
+
+    private final int deleteCount;
+
+    private final List<Object> items;
+
+    private JsonArray toJson() {
+      final JsonArray json = Json.createArray();
+
+      json.set(0, index);
+      json.set(1, deleteCount);
+      json.set(2, JsonSerializer.toJson(items));
+
+      return json;
+    }
+
+  }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.property;
+
+import com.oliveryasuna.vaadin.lit.model.annotation.LitProperty;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.dom.Element;
+
+import java.util.Collection;
+
+/**
+ * Handles {@link LitList} properties.
+ */
+public class LitListPropertyHandlers implements LitPropertyHandlers {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String LIST_KEY_PREFIX = LitListPropertyHandlers.class.getName() + "#";
+
+  // Singleton
+  //--------------------------------------------------
+
+  private static final LitListPropertyHandlers INSTANCE = new LitListPropertyHandlers();
+
+  public static LitListPropertyHandlers getInstance() {
+    return INSTANCE;
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  protected LitListPropertyHandlers() {
+    super();
+  }
+
+  // Methods
+  //--------------------------------------------------
+
+  private Object readResolve() {
+    return INSTANCE;
+  }
+
+  protected LitList<?> getList(final Element element, final String name) {
+    final Component component = element.getComponent()
+        .orElseThrow(() -> new IllegalStateException("List properties require an element of a component."));
+    final String key = LIST_KEY_PREFIX + name;
+    final LitList<?> existing = (LitList<?>)ComponentUtil.getData(component, key);
+
+    if(existing != null) return existing;
+
+    final LitList<?> list = new LitList<>(component, name);
+
+    ComponentUtil.setData(component, key, list);
+
+    return list;
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // LitPropertyHandlers
+  //
+
+  @Override
+  public Object get(final Element element, final String name, final LitProperty annotation) throws Exception {
+    return getList(element, name);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void set(final Element element, final String name, final Object value, final LitProperty annotation) throws Exception {
+    final LitList<Object> list = (LitList<Object>)getList(element, name);
+
+    if(value == null) {
+      list.clear();
+    } else if(value != list) {
+      list.setAll((Collection<?>)value);
+    }
+  }
+
+  @Override
+  public boolean isElementProperty() {
+    return false;
+  }
+
+}
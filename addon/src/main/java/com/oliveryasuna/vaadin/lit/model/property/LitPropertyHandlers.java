@@ -21,11 +21,49 @@ package com.oliveryasuna.vaadin.lit.model.property;
 import com.oliveryasuna.vaadin.lit.model.annotation.LitProperty;
 import com.vaadin.flow.dom.Element;
 
+import java.io.Serializable;
+
 // TODO: Javadoc.
-public interface LitPropertyHandlers {
+public interface LitPropertyHandlers extends Serializable {
 
   Object get(Element element, String name, LitProperty annotation) throws Exception;
 
   void set(Element element, String name, Object value, LitProperty annotation) throws Exception;
 
+  /**
+   * Whether the value of a property is stored in the element's property map.
+   * <p>
+   * Only such properties can be {@link LitProperty#syncEvent() synchronized} from the client, and compared with the element without converting them.
+   *
+   * @return {@code true} by default.
+   */
+  default boolean isElementProperty() {
+    return true;
+  }
+
+  /**
+   * Binds these handlers to a single property.
+   * <p>
+   * Called once per model method, when the model is compiled.
+   * Implementations should do all per-property work here (e.g., parsing {@link LitProperty#defaultValue()}), rather than on each access.
+   *
+   * @param name       The name of the property.
+   * @param annotation The annotation of the model method.
+   * @return The accessor.
+   * @throws IllegalArgumentException If the annotation is invalid for this type (e.g., a malformed default value).
+   */
+  default LitPropertyAccessor bind(final String name, final LitProperty annotation) {
+    return new LitPropertyAccessor() {
+      @Override
+      public Object get(final Element element) throws Exception {
+        return LitPropertyHandlers.this.get(element, name, annotation);
+      }
+
+      @Override
+      public void set(final Element element, final Object value) throws Exception {
+        LitPropertyHandlers.this.set(element, name, value, annotation);
+      }
+    };
+  }
+
 }
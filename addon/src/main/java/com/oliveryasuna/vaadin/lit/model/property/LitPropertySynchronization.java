@@ -0,0 +1,183 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.property;
+
+import com.oliveryasuna.commons.language.marker.Immutable;
+import com.oliveryasuna.vaadin.lit.exception.LitModelMethodSignatureException;
+import com.oliveryasuna.vaadin.lit.model.annotation.LitProperty;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelMethodInvoker;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelMethodTable;
+import com.oliveryasuna.vaadin.lit.model.proxy.annotation.LitPropertyMethodInvoker;
+import com.vaadin.flow.dom.DomListenerRegistration;
+import com.vaadin.flow.dom.Element;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The client synchronization of a property, as declared by {@link LitProperty#syncEvent()}.
+ */
+@Immutable
+public final class LitPropertySynchronization {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String CONFLICTING_SYNCHRONIZATION_EXCEPTION_MESSAGE_FORMAT = "" +
+      "Annotated [%s] model methods of property [%s] declare conflicting synchronizations.";
+
+  private static final String INVALID_SYNCHRONIZATION_EXCEPTION_MESSAGE_FORMAT = "" +
+      "Annotated [%s] model method [%s] has an invalid synchronization (debounce [%d], throttle [%d]).";
+
+  private static final String UNSUPPORTED_SYNCHRONIZATION_EXCEPTION_MESSAGE_FORMAT = "" +
+      "Annotated [%s] model method [%s] cannot be synchronized, because property [%s] is not stored in the element.";
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Finds the synchronized properties of a compiled model type.
+   *
+   * @param methodTable The method table of the model type.
+   * @return The synchronizations, one per property.
+   * @throws LitModelMethodSignatureException If a synchronization is invalid, if its property is not {@link
+   *                                          com.oliveryasuna.vaadin.lit.model.property.LitPropertyHandlers#isElementProperty() stored in the element},
+   *                                          or if methods of the same property disagree.
+   */
+  public static List<LitPropertySynchronization> of(final LitModelMethodTable methodTable) {
+    final Class<?> modelType = methodTable.getModelType();
+    final Map<String, LitPropertySynchronization> synchronizations = new LinkedHashMap<>();
+
+    for(final Method method : modelType.getMethods()) {
+      final LitProperty annotation = method.getAnnotation(LitProperty.class);
+
+      if(annotation == null || annotation.syncEvent().isEmpty()) continue;
+
+      if(annotation.syncDebounce() < 0 || annotation.syncThrottle() < 0 || (annotation.syncDebounce() > 0 && annotation.syncThrottle() > 0))
+        throw new LitModelMethodSignatureException(modelType, String.format(INVALID_SYNCHRONIZATION_EXCEPTION_MESSAGE_FORMAT,
+            LitProperty.class.getSimpleName(), method.getName(), annotation.syncDebounce(), annotation.syncThrottle()));
+
+      final LitModelMethodInvoker invoker = methodTable.get(method);
+
+      // Flow only applies client values to the element's property map; other handlers would never see them.
+      if(invoker instanceof LitPropertyMethodInvoker && !((LitPropertyMethodInvoker)invoker).isElementProperty())
+        throw new LitModelMethodSignatureException(modelType, String.format(UNSUPPORTED_SYNCHRONIZATION_EXCEPTION_MESSAGE_FORMAT,
+            LitProperty.class.getSimpleName(), method.getName(), annotation.name()));
+
+      final LitPropertySynchronization synchronization = new LitPropertySynchronization(annotation.name(), annotation.syncEvent(),
+          annotation.syncDebounce(), annotation.syncThrottle());
+      final LitPropertySynchronization existing = synchronizations.putIfAbsent(annotation.name(), synchronization);
+
+      if(existing != null && !existing.equals(synchronization))
+        throw new LitModelMethodSignatureException(modelType, String.format(CONFLICTING_SYNCHRONIZATION_EXCEPTION_MESSAGE_FORMAT,
+            LitProperty.class.getSimpleName(), annotation.name()));
+    }
+
+    return Collections.unmodifiableList(new ArrayList<>(synchronizations.values()));
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private LitPropertySynchronization(final String propertyName, final String eventName, final int debounce, final int throttle) {
+    super();
+
+    this.propertyName = propertyName;
+    this.eventName = eventName;
+    this.debounce = debounce;
+    this.throttle = throttle;
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final String propertyName;
+
+  private final String eventName;
+
+  private final int debounce;
+
+  private final int throttle;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Synchronizes the property of an element.
+   *
+   * @param element The element.
+   * @return The registration.
+   */
+  public DomListenerRegistration register(final Element element) {
+    // The value itself is applied to the element by Flow; the listener only enables synchronization.
+    final DomListenerRegistration registration = element.addPropertyChangeListener(propertyName, eventName, event -> {
+    });
+
+    if(debounce > 0) registration.debounce(debounce);
+    if(throttle > 0) registration.throttle(throttle);
+
+    return registration;
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // Object
+  //
+
+  @Override
+  public boolean equals(final Object other) {
+    if(this == other) return true;
+    if(!(other instanceof LitPropertySynchronization)) return false;
+
+    final LitPropertySynchronization that = (LitPropertySynchronization)other;
+
+    return (debounce == that.debounce && throttle == that.throttle && propertyName.equals(that.propertyName) && eventName.equals(that.eventName));
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(propertyName, eventName, debounce, throttle);
+  }
+
+  // Getters
+  //--------------------------------------------------
+
+  public String getPropertyName() {
+    return propertyName;
+  }
+
+  public String getEventName() {
+    return eventName;
+  }
+
+  public int getDebounce() {
+    return debounce;
+  }
+
+  public int getThrottle() {
+    return throttle;
+  }
+
+}
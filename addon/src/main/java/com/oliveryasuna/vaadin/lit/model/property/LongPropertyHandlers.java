@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.property;
+
+import com.oliveryasuna.vaadin.lit.model.annotation.LitProperty;
+import com.vaadin.flow.dom.Element;
+
+/**
+ * Handles {@code long} properties, which lose precision beyond {@code 2^53} on the client.
+ */
+public class LongPropertyHandlers implements LitPropertyHandlers {
+
+  // Singleton
+  //--------------------------------------------------
+
+  private static final LongPropertyHandlers INSTANCE = new LongPropertyHandlers();
+
+  public static LongPropertyHandlers getInstance() {
+    return INSTANCE;
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  protected LongPropertyHandlers() {
+    super();
+  }
+
+  // Methods
+  //--------------------------------------------------
+
+  private Object readResolve() {
+    return INSTANCE;
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // LitPropertyHandlers
+  //
+
+  @Override
+  public Object get(final Element element, final String name, final LitProperty annotation) throws Exception {
+    return (long)element.getProperty(name, (double)Long.parseLong(annotation.defaultValue()));
+  }
+
+  @Override
+  public void set(final Element element, final String name, final Object value, final LitProperty annotation) throws Exception {
+    element.setProperty(name, (long)value);
+  }
+
+  @Override
+  public LitPropertyAccessor bind(final String name, final LitProperty annotation) {
+    // Subclasses that override get/set keep their behavior.
+    if(getClass() != LongPropertyHandlers.class) return LitPropertyHandlers.super.bind(name, annotation);
+
+    return new Accessor(name, Long.parseLong(annotation.defaultValue()));
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  private static final class Accessor implements LongPropertyAccessor {
+
+    private Accessor(final String name, final long defaultValue) {
+      super();
+
+      this.name = name;
+      this.defaultValue = defaultValue;
+    }
+
+    private final String name;
+
+    private final long defaultValue;
+
+    @Override
+    public long getLong(final Element element) {
+      return (long)element.getProperty(name, (double)defaultValue);
+    }
+
+    @Override
+    public void setLong(final Element element, final long value) {
+      element.setProperty(name, value);
+    }
+
+  }
+
+}
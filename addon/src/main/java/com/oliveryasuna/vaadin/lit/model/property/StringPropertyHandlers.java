@@ -40,6 +40,13 @@ public class StringPropertyHandlers implements LitPropertyHandlers {
     super();
   }
 
+  // Methods
+  //--------------------------------------------------
+
+  private Object readResolve() {
+    return INSTANCE;
+  }
+
   // Overrides
   //--------------------------------------------------
 
@@ -56,4 +63,43 @@ public class StringPropertyHandlers implements LitPropertyHandlers {
     element.setProperty(name, (String)value);
   }
 
+  @Override
+  public LitPropertyAccessor bind(final String name, final LitProperty annotation) {
+    // Subclasses that override get/set keep their behavior.
+    if(getClass() != StringPropertyHandlers.class) return LitPropertyHandlers.super.bind(name, annotation);
+
+    return new Accessor(name, (annotation.nullDefaultValue() ? null : annotation.defaultValue()));
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  private static final class Accessor implements LitPropertyAccessor {
+
+    private Accessor(final String name, final String defaultValue) {
+      super();
+
+      this.name = name;
+      this.defaultValue = defaultValue;
+    }
+
+    private final String name;
+
+    /**
+     * If {@code null}, {@link Element#getProperty(String)} is used.
+     */
+    private final String defaultValue;
+
+    @Override
+    public Object get(final Element element) {
+      return (defaultValue == null ? element.getProperty(name) : element.getProperty(name, defaultValue));
+    }
+
+    @Override
+    public void set(final Element element, final Object value) {
+      element.setProperty(name, (String)value);
+    }
+
+  }
+
 }
@@ -19,8 +19,10 @@
 package com.oliveryasuna.vaadin.lit.model.proxy;
 
 import com.oliveryasuna.commons.language.marker.Singleton;
+import com.oliveryasuna.vaadin.lit.model.annotation.LitDataSource;
 import com.oliveryasuna.vaadin.lit.model.annotation.LitFunction;
 import com.oliveryasuna.vaadin.lit.model.annotation.LitProperty;
+import com.oliveryasuna.vaadin.lit.model.proxy.annotation.DefaultLitDataSourceAnnotationHandler;
 import com.oliveryasuna.vaadin.lit.model.proxy.annotation.DefaultLitFunctionAnnotationHandler;
 import com.oliveryasuna.vaadin.lit.model.proxy.annotation.DefaultLitPropertyAnnotationHandler;
 import com.oliveryasuna.vaadin.lit.model.proxy.annotation.LitAnnotationHandler;
@@ -34,9 +36,12 @@ public final class DefaultLitModelInvocationHandler extends LitModelInvocationHa
   // Static fields
   //--------------------------------------------------
 
+  private static final String ID = DefaultLitModelInvocationHandler.class.getName();
+
   private static final Map<Class<? extends Annotation>, LitAnnotationHandler> ANNOTATION_HANDLERS = Map.of(
       LitProperty.class, DefaultLitPropertyAnnotationHandler.getInstance(),
-      LitFunction.class, DefaultLitFunctionAnnotationHandler.getInstance()
+      LitFunction.class, DefaultLitFunctionAnnotationHandler.getInstance(),
+      LitDataSource.class, DefaultLitDataSourceAnnotationHandler.getInstance()
   );
 
   // Singleton
@@ -52,7 +57,7 @@ public final class DefaultLitModelInvocationHandler extends LitModelInvocationHa
   //--------------------------------------------------
 
   private DefaultLitModelInvocationHandler() {
-    super(ANNOTATION_HANDLERS);
+    super(ID, ANNOTATION_HANDLERS);
   }
 
 }
@@ -0,0 +1,386 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.proxy;
+
+import com.oliveryasuna.vaadin.lit.exception.LitModelException;
+import com.oliveryasuna.vaadin.lit.model.function.LitFunctionResults;
+import com.oliveryasuna.vaadin.lit.model.proxy.annotation.LitPropertyMethodInvoker;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.DefaultErrorHandler;
+import com.vaadin.flow.server.ErrorEvent;
+import com.vaadin.flow.server.ErrorHandler;
+import com.vaadin.flow.server.VaadinSession;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Binds a model proxy that may be called from any thread.
+ * Calls are recorded without locking, and applied when the {@link LitUpdateScheduler} of the UI flushes the binding.
+ */
+public final class LitAsyncModelBinding implements InvocationHandler, Serializable {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String UNSUPPORTED_METHOD_EXCEPTION_MESSAGE_FORMAT = "Model method [%s] cannot be called asynchronously.";
+
+  private static final String UNKNOWN_VALUE_EXCEPTION_MESSAGE_FORMAT = "The value of property [%s] is not known without locking the session.";
+
+  // Constructors
+  //--------------------------------------------------
+
+  /**
+   * Creates the binding.
+   * <p>
+   * Must be called while the session of the component, if any, is locked.
+   *
+   * @param binding  The binding that the calls are applied to.
+   * @param priority The priority of the flushes, relative to the other components of the UI.
+   */
+  public LitAsyncModelBinding(final LitModelBinding binding, final int priority) {
+    super();
+
+    this.binding = binding;
+    this.priority = priority;
+    this.scheduler = binding.getComponent().getUI().map(LitUpdateScheduler::get).orElse(null);
+
+    binding.getComponent().addAttachListener(event -> {
+      scheduler = LitUpdateScheduler.get(event.getUI());
+
+      // Any earlier request was made to the scheduler of another UI, which may have dropped it.
+      scheduled.set(false);
+
+      if(!propertyWrites.isEmpty() || !functionCalls.isEmpty()) schedule();
+    });
+    binding.getComponent().addDetachListener(event -> {
+      scheduler = null;
+      scheduled.set(false);
+    });
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final LitModelBinding binding;
+
+  private final int priority;
+
+  private transient Map<String, Call> propertyWrites = new ConcurrentHashMap<>();
+
+  private transient Queue<Call> functionCalls = new ConcurrentLinkedQueue<>();
+
+  private transient AtomicBoolean scheduled = new AtomicBoolean();
+
+  /**
+   * The values of the last flushed writes, by property name.
+   */
+  private transient Map<String, Optional<Object>> flushedValues = new ConcurrentHashMap<>();
+
+  /**
+   * The scheduler of the UI, or {@code null} while detached.
+   */
+  private volatile LitUpdateScheduler scheduler;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Creates a model proxy that is bound to this binding.
+   *
+   * @return The model proxy.
+   */
+  public Object createModel() {
+    final Class<?> modelType = binding.getMethodTable().getModelType();
+
+    return Proxy.newProxyInstance(modelType.getClassLoader(), new Class<?>[] {modelType}, this);
+  }
+
+  /**
+   * Applies the recorded calls now.
+   * <p>
+   * A call that fails is reported to the error handler of the session, and does not prevent the other calls from being applied.
+   * Must be called while the session is locked.
+   * Usually called by the {@link LitUpdateScheduler}.
+   */
+  public void flush() {
+    // Calls recorded from now on schedule another flush.
+    scheduled.set(false);
+
+    if(propertyWrites.isEmpty() && functionCalls.isEmpty()) return;
+
+    try {
+      binding.batch(() -> {
+        for(final String propertyName : propertyWrites.keySet()) {
+          final Call write = propertyWrites.remove(propertyName);
+
+          if(write != null && apply(write)) flushedValues.put(propertyName, Optional.ofNullable(write.arguments[0]));
+        }
+
+        Call call;
+
+        while((call = functionCalls.poll()) != null) {
+          apply(call);
+        }
+      });
+    } catch(final RuntimeException e) {
+      // The transaction applies every update before it throws.
+      reportError(e);
+    }
+  }
+
+  /**
+   * Applies a call, reporting its failure rather than throwing it, so that the other calls of the flush are still applied.
+   *
+   * @return Whether the call succeeded.
+   */
+  private boolean apply(final Call call) {
+    try {
+      call.apply(binding);
+
+      return true;
+    } catch(final RuntimeException e) {
+      reportError(e);
+
+      return false;
+    }
+  }
+
+  private Object read(final Object proxy, final Method method, final LitPropertyMethodInvoker getter) throws Throwable {
+    final String propertyName = getter.getPropertyName();
+    final Call write = propertyWrites.get(propertyName);
+
+    if(write != null && isInstance(getter.getPropertyType(), write.arguments[0])) return write.arguments[0];
+
+    final VaadinSession session = VaadinSession.getCurrent();
+
+    if(session != null && session.hasLock()) return binding.invoke(proxy, method, null);
+
+    final Optional<Object> flushedValue = flushedValues.get(propertyName);
+
+    if(flushedValue != null && isInstance(getter.getPropertyType(), flushedValue.orElse(null))) return flushedValue.orElse(null);
+
+    throw new IllegalStateException(String.format(UNKNOWN_VALUE_EXCEPTION_MESSAGE_FORMAT, propertyName));
+  }
+
+  /**
+   * Checks whether a written value can be returned by a getter.
+   */
+  private static boolean isInstance(final Class<?> type, final Object value) {
+    return (value != null ? MethodType.methodType(type).wrap().returnType().isInstance(value) : !type.isPrimitive());
+  }
+
+  /**
+   * Reports a failure to the error handler of the session of the component.
+   * <p>
+   * Must be called while the session is locked.
+   *
+   * @param throwable The failure.
+   */
+  public void reportError(final Throwable throwable) {
+    final VaadinSession session = binding.getComponent().getUI().map(UI::getSession).orElseGet(VaadinSession::getCurrent);
+    final ErrorHandler errorHandler = ErrorEvent.findErrorHandler(session);
+
+    (errorHandler != null ? errorHandler : new DefaultErrorHandler()).error(new ErrorEvent(throwable));
+  }
+
+  /**
+   * Runs a task at the next flush, after the calls that were recorded before it.
+   * <p>
+   * May be called from any thread.
+   *
+   * @param task The task, which is run while the session is locked.
+   */
+  public void execute(final Runnable task) {
+    functionCalls.add(new Call(task));
+    schedule();
+  }
+
+  /**
+   * Called by the {@link LitUpdateScheduler} when it drops the request of this binding without flushing it, so that the next call requests again.
+   */
+  void requestDropped() {
+    scheduled.set(false);
+  }
+
+  private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+    stream.defaultReadObject();
+
+    propertyWrites = new ConcurrentHashMap<>();
+    functionCalls = new ConcurrentLinkedQueue<>();
+    scheduled = new AtomicBoolean();
+    flushedValues = new ConcurrentHashMap<>();
+  }
+
+  private void schedule() {
+    if(!scheduled.compareAndSet(false, true)) return;
+
+    final LitUpdateScheduler scheduler = this.scheduler;
+
+    // Requested when attached.
+    if(scheduler == null) {
+      scheduled.set(false);
+      return;
+    }
+
+    scheduler.request(this);
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // InvocationHandler
+  //
+
+  @Override
+  public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+    // Required by proxy.
+    if(LitModelObjectMethods.isObjectMethod(method)) return LitModelObjectMethods.invoke(proxy, method, args, binding.getMethodTable().getModelType());
+
+    final LitModelMethodInvoker invoker = binding.getMethodTable().get(method);
+
+    if(invoker instanceof LitPropertyMethodInvoker) {
+      final LitPropertyMethodInvoker propertyInvoker = (LitPropertyMethodInvoker)invoker;
+
+      if(propertyInvoker.isGetter()) return read(proxy, method, propertyInvoker);
+
+      propertyWrites.put(propertyInvoker.getPropertyName(), new Call(proxy, method, args, null));
+      schedule();
+
+      return null;
+    }
+
+    final Class<?> returnType = method.getReturnType();
+
+    if(returnType.equals(Void.TYPE)) {
+      functionCalls.add(new Call(proxy, method, args, null));
+      schedule();
+
+      return null;
+    }
+
+    if(LitFunctionResults.isFutureType(returnType)) {
+      final CompletableFuture<Object> result = new CompletableFuture<>();
+
+      functionCalls.add(new Call(proxy, method, args, result));
+      schedule();
+
+      return result;
+    }
+
+    throw new LitModelException(binding.getMethodTable().getModelType(), String.format(UNSUPPORTED_METHOD_EXCEPTION_MESSAGE_FORMAT, method.getName()));
+  }
+
+  // Getters
+  //--------------------------------------------------
+
+  public LitModelBinding getBinding() {
+    return binding;
+  }
+
+  public int getPriority() {
+    return priority;
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * A recorded call, or task.
+   */
+  private static final class Call {
+
+    private Call(final Object proxy, final Method method, final Object[] arguments, final CompletableFuture<Object> result) {
+      super();
+
+      this.proxy = proxy;
+      this.method = method;
+      this.arguments = arguments;
+      this.result = result;
+      this.task = null;
+    }
+
+    private Call(final Runnable task) {
+      super();
+
+      this.proxy = null;
+      this.method = null;
+      this.arguments = null;
+      this.result = null;
+      this.task = task;
+    }
+
+    private final Object proxy;
+
+    private final Method method;
+
+    private final Object[] arguments;
+
+    /**
+     * The future that was returned to the caller, or {@code null} if the method returns nothing.
+     */
+    private final CompletableFuture<Object> result;
+
+    private final Runnable task;
+
+    private void apply(final LitModelBinding binding) {
+      if(task != null) {
+        task.run();
+        return;
+      }
+
+      try {
+        final Object value = binding.invokeInTransaction(proxy, method, arguments);
+
+        if(result != null) {
+          ((CompletionStage<?>)value).whenComplete((resultValue, throwable) -> {
+            if(throwable != null) {
+              result.completeExceptionally(throwable);
+            } else {
+              result.complete(resultValue);
+            }
+          });
+        }
+      } catch(final RuntimeException | Error e) {
+        if(result != null) result.completeExceptionally(e);
+
+        throw e;
+      } catch(final Throwable t) {
+        if(result != null) result.completeExceptionally(t);
+
+        throw new LitModelException(binding.getMethodTable().getModelType(), t);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.proxy;
+
+import com.oliveryasuna.vaadin.lit.component.LitComponentBase;
+import com.oliveryasuna.vaadin.lit.exception.LitModelException;
+import com.oliveryasuna.vaadin.lit.model.annotation.LitFunction;
+import com.oliveryasuna.vaadin.lit.model.function.LitFunctionResults;
+import com.oliveryasuna.vaadin.lit.model.metrics.LitModelMetrics;
+import com.oliveryasuna.vaadin.lit.model.proxy.annotation.LitPropertyMethodInvoker;
+import com.vaadin.flow.component.page.PendingJavaScriptResult;
+import com.vaadin.flow.dom.Element;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Binds a model proxy to its component.
+ * Must be used while the session of the component is locked.
+ */
+public final class LitModelBinding implements InvocationHandler, Serializable {
+
+  // Constructors
+  //--------------------------------------------------
+
+  LitModelBinding(final LitComponentBase<?> component, final LitModelMethodTable methodTable) {
+    super();
+
+    this.component = component;
+    this.element = component.getElement();
+    this.methodTable = methodTable;
+    this.propertyCache = LitPropertyCache.create(methodTable.getModelType(), element);
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final LitComponentBase<?> component;
+
+  private final Element element;
+
+  private final LitModelMethodTable methodTable;
+
+  private final LitPropertyCache propertyCache;
+
+  private transient LitModelTransaction transaction;
+
+  /**
+   * Whether a call through {@link #invokeInTransaction(Object, Method, Object[])} is in progress.
+   */
+  private transient boolean transactional;
+
+  private transient Map<Object, Object> states;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Runs model updates in a transaction.
+   * <p>
+   * Calls made through {@link #invokeInTransaction(Object, Method, Object[])} are applied together when {@code updates} returns, or discarded if it throws.
+   * Nested calls join the enclosing transaction.
+   *
+   * @param updates The updates.
+   */
+  public void batch(final Runnable updates) {
+    if(transaction != null) {
+      updates.run();
+
+      return;
+    }
+
+    final LitModelTransaction transaction = new LitModelTransaction();
+
+    this.transaction = transaction;
+
+    try {
+      updates.run();
+    } finally {
+      this.transaction = null;
+    }
+
+    try {
+      transaction.flush();
+    } catch(final RuntimeException e) {
+      throw e;
+    } catch(final Exception e) {
+      throw new LitModelException(methodTable.getModelType(), e);
+    }
+  }
+
+  /**
+   * Invokes a model method within the current transaction, if any.
+   *
+   * @param proxy  The model.
+   * @param method The model method.
+   * @param args   The arguments.
+   * @return The result.
+   * @throws Throwable If the invocation fails.
+   * @see #batch(Runnable)
+   */
+  public Object invokeInTransaction(final Object proxy, final Method method, final Object[] args) throws Throwable {
+    final boolean wasTransactional = transactional;
+
+    transactional = true;
+
+    try {
+      return invoke(proxy, method, args);
+    } finally {
+      transactional = wasTransactional;
+    }
+  }
+
+  /**
+   * Creates a model whose calls are made {@link #invokeInTransaction(Object, Method, Object[]) within the current transaction}.
+   *
+   * @return The model.
+   */
+  public Object createTransactionalModel() {
+    final Class<?> modelType = methodTable.getModelType();
+
+    return Proxy.newProxyInstance(modelType.getClassLoader(), new Class<?>[] {modelType}, this::invokeInTransaction);
+  }
+
+  /**
+   * Gets per-component state of a model method.
+   * <p>
+   * Method invokers are shared by all components of a model type, so they keep their per-component state here.
+   *
+   * @param key     The key of the state, usually the owner of the state itself.
+   * @param factory Creates the state, if absent.
+   * @param <T>     The type of the state.
+   * @return The state.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T getState(final Object key, final Supplier<? extends T> factory) {
+    if(states == null) states = new IdentityHashMap<>(4);
+
+    return (T)states.computeIfAbsent(key, k -> factory.get());
+  }
+
+  /**
+   * Checks whether a write would not change the value of its property.
+   * <p>
+   * Within a transaction, the value is compared with the pending write, if any, as that is what the element will have.
+   * Properties that are not stored in the element are never considered redundant, as reading them would convert their value.
+   */
+  private boolean isRedundantWrite(final LitPropertyMethodInvoker invoker, final Object value) {
+    final LitModelTransaction transaction = getTransaction();
+
+    if(transaction != null && transaction.hasPendingWrite(invoker.getPropertyName()))
+      return Objects.equals(transaction.getPendingValue(invoker.getPropertyName()), value);
+
+    if(!invoker.isElementProperty()) return false;
+
+    try {
+      return Objects.equals(invoker.getAccessor().get(element), value);
+    } catch(final Exception e) {
+      return false;
+    }
+  }
+
+  private Object invokeMeasured(final LitModelMetrics metrics, final Method method, final LitModelMethodInvoker invoker, final Object[] args)
+      throws Exception {
+    final Class<?> componentType = component.getClass();
+
+    metrics.recordCall(componentType, method);
+
+    if(invoker instanceof LitPropertyMethodInvoker && !((LitPropertyMethodInvoker)invoker).isGetter()) {
+      metrics.recordWrite(componentType, method, isRedundantWrite((LitPropertyMethodInvoker)invoker, args[0]));
+      metrics.recordPayload(componentType, method, LitModelMetrics.estimatePayloadSize(args[0]));
+    } else if(args != null && method.isAnnotationPresent(LitFunction.class)) {
+      long size = 0L;
+
+      for(final Object arg : args) {
+        size += LitModelMetrics.estimatePayloadSize(arg);
+      }
+
+      metrics.recordPayload(componentType, method, size);
+    }
+
+    final long start = System.nanoTime();
+    final Object result = invoker.invoke(this, args);
+
+    if(result instanceof CompletableFuture) {
+      // Timeouts and cancellations are not round trips.
+      ((CompletableFuture<?>)result).whenComplete((value, throwable) -> {
+        if(throwable == null) metrics.recordRoundTrip(componentType, method, System.nanoTime() - start);
+      });
+    } else if(result instanceof PendingJavaScriptResult) {
+      // Pending results are part of the session, so the method is looked up again.
+      final Class<?> declaringType = method.getDeclaringClass();
+      final String methodName = method.getName();
+      final Class<?>[] parameterTypes = method.getParameterTypes();
+
+      return LitFunctionResults.whenComplete((PendingJavaScriptResult)result, succeeded -> {
+        if(!succeeded) return;
+
+        try {
+          LitModelMetrics.getInstance().recordRoundTrip(componentType, declaringType.getMethod(methodName, parameterTypes), System.nanoTime() - start);
+        } catch(final NoSuchMethodException e) {
+          throw new IllegalStateException(e);
+        }
+      });
+    }
+
+    return result;
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // InvocationHandler
+  //
+
+  @Override
+  public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+    // Required by proxy.
+    if(LitModelObjectMethods.isObjectMethod(method)) return LitModelObjectMethods.invoke(proxy, method, args, methodTable.getModelType());
+
+    final LitModelMethodInvoker invoker = methodTable.get(method);
+    final LitModelMetrics metrics = LitModelMetrics.getInstance();
+
+    if(metrics.isEnabled()) return invokeMeasured(metrics, method, invoker, args);
+
+    return invoker.invoke(this, args);
+  }
+
+  // Getters
+  //--------------------------------------------------
+
+  public LitComponentBase<?> getComponent() {
+    return component;
+  }
+
+  public Element getElement() {
+    return element;
+  }
+
+  public LitModelMethodTable getMethodTable() {
+    return methodTable;
+  }
+
+  /**
+   * Gets the property cache.
+   *
+   * @return The property cache, or {@code null} if the model is not a {@link com.oliveryasuna.vaadin.lit.model.annotation.CachedLitModel}.
+   */
+  public LitPropertyCache getPropertyCache() {
+    return propertyCache;
+  }
+
+  /**
+   * Gets the current transaction.
+   *
+   * @return The current transaction, or {@code null} if updates are applied immediately.
+   */
+  public LitModelTransaction getTransaction() {
+    return (transactional ? transaction : null);
+  }
+
+}
@@ -19,67 +19,262 @@
 package com.oliveryasuna.vaadin.lit.model.proxy;
 
 import com.oliveryasuna.commons.language.marker.Immutable;
+import com.oliveryasuna.vaadin.lit.component.LitComponentBase;
 import com.oliveryasuna.vaadin.lit.exception.LitModelMethodException;
 import com.oliveryasuna.vaadin.lit.model.proxy.annotation.LitAnnotationHandler;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
 import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationHandler;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.lang.reflect.Modifier;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
-// TODO: Javadoc.
+/**
+ * Compiles {@link com.oliveryasuna.vaadin.lit.model.LitModel} types and binds their proxies to components.
+ * Immutable, and may be shared by any number of components.
+ */
 @Immutable
-public class LitModelInvocationHandler implements InvocationHandler {
+public class LitModelInvocationHandler implements Serializable {
 
   // Static fields
   //--------------------------------------------------
 
   protected static final String INVALID_LIT_MODEL_METHOD_EXCEPTION_MESSAGE_FORMAT = "Model method [%s] is invalid.";
 
+  private static final String DUPLICATE_ID_EXCEPTION_MESSAGE_FORMAT = "An invocation handler with ID [%s] already exists.";
+
+  private static final String UNKNOWN_ID_EXCEPTION_MESSAGE_FORMAT = "No invocation handler with ID [%s] exists.";
+
+  private static final Map<String, LitModelInvocationHandler> IDENTIFIED = new ConcurrentHashMap<>();
+
+  private static final Map<Map<Class<? extends Annotation>, LitAnnotationHandler>, SharedReference> SHARED = new ConcurrentHashMap<>();
+
+  private static final ReferenceQueue<LitModelInvocationHandler> RELEASED = new ReferenceQueue<>();
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Gets the shared handler of a set of annotation handlers, which are compared by equality.
+   * <p>
+   * The handler is weakly held, so it is released once no component uses it.
+   *
+   * @param annotationHandlers The annotation handlers.
+   * @return The shared handler.
+   */
+  public static LitModelInvocationHandler of(final Map<Class<? extends Annotation>, LitAnnotationHandler> annotationHandlers) {
+    expungeReleased();
+
+    final Map<Class<? extends Annotation>, LitAnnotationHandler> key = Map.copyOf(annotationHandlers);
+
+    while(true) {
+      final SharedReference reference = SHARED.get(key);
+      final LitModelInvocationHandler existing = (reference != null ? reference.get() : null);
+
+      if(existing != null) return existing;
+
+      final LitModelInvocationHandler handler = new LitModelInvocationHandler(key);
+      final SharedReference created = new SharedReference(key, handler);
+
+      if(reference == null ? SHARED.putIfAbsent(key, created) == null : SHARED.replace(key, reference, created)) return handler;
+    }
+  }
+
+  private static void expungeReleased() {
+    for(Reference<? extends LitModelInvocationHandler> reference; (reference = RELEASED.poll()) != null; ) {
+      SHARED.remove(((SharedReference)reference).annotationHandlers, reference);
+    }
+  }
+
   // Constructors
   //--------------------------------------------------
 
   public LitModelInvocationHandler(final Map<Class<? extends Annotation>, LitAnnotationHandler> annotationHandlers) {
+    this(null, annotationHandlers);
+  }
+
+  /**
+   * Creates a handler that is serialized as its ID.
+   * <p>
+   * The ID must be registered, by creating the handler, before sessions that refer to it are deserialized.
+   * A handler that is created when its class is initialized (e.g., a singleton) is registered as it is resolved.
+   *
+   * @param id                 The ID, which must be stable across JVMs.
+   * @param annotationHandlers The annotation handlers.
+   * @throws IllegalStateException If a handler with the same ID already exists.
+   */
+  protected LitModelInvocationHandler(final String id, final Map<Class<? extends Annotation>, LitAnnotationHandler> annotationHandlers) {
     super();
 
+    this.id = id;
     this.annotationHandlers = Collections.unmodifiableMap(annotationHandlers);
+    this.methodTables = new ConcurrentHashMap<>();
+
+    if(id != null && IDENTIFIED.putIfAbsent(id, this) != null)
+      throw new IllegalStateException(String.format(DUPLICATE_ID_EXCEPTION_MESSAGE_FORMAT, id));
   }
 
   // Fields
   //--------------------------------------------------
 
+  private final String id;
+
   private final Map<Class<? extends Annotation>, LitAnnotationHandler> annotationHandlers;
 
-  // Overrides
+  /**
+   * Not a {@link ClassValue}, as its values refer to this handler, which would then never be released.
+   */
+  private transient Map<Class<?>, LitModelMethodTable> methodTables;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Compiles the methods of a model type.
+   * <p>
+   * The result is cached, so each model type is only validated once per handler.
+   *
+   * @param modelType The model type.
+   * @return The method table.
+   * @throws com.oliveryasuna.vaadin.lit.exception.LitModelException If any method is invalid.
+   */
+  public final LitModelMethodTable compile(final Class<?> modelType) {
+    final LitModelMethodTable methodTable = methodTables.get(modelType);
+
+    return (methodTable != null ? methodTable : methodTables.computeIfAbsent(modelType, this::compile0));
+  }
+
+  private LitModelMethodTable compile0(final Class<?> modelType) {
+    final Map<Method, LitModelMethodInvoker> invokers = new HashMap<>();
+
+    for(final Method method : modelType.getMethods()) {
+      if(Modifier.isStatic(method.getModifiers())) continue;
+
+      invokers.put(method, compileMethod(modelType, method));
+    }
+
+    return new LitModelMethodTable(this, modelType, invokers);
+  }
+
+  private LitModelMethodInvoker compileMethod(final Class<?> modelType, final Method method) {
+    for(final Annotation methodAnnotation : method.getDeclaredAnnotations()) {
+      final LitAnnotationHandler annotationHandler = annotationHandlers.get(methodAnnotation.annotationType());
+
+      if(annotationHandler != null) return annotationHandler.compile(modelType, method);
+    }
+
+    throw new LitModelMethodException(modelType, String.format(INVALID_LIT_MODEL_METHOD_EXCEPTION_MESSAGE_FORMAT, method.getName()));
+  }
+
+  /**
+   * Creates the invocation handler for a single model proxy.
+   *
+   * @param component The component that owns the model.
+   * @param modelType The model type.
+   * @return The invocation handler.
+   */
+  public LitModelBinding bind(final LitComponentBase<?> component, final Class<?> modelType) {
+    return bind(component, compile(modelType));
+  }
+
+  /**
+   * Creates the invocation handler for a single model proxy.
+   *
+   * @param component   The component that owns the model.
+   * @param methodTable The compiled methods of the model type, as returned by {@link #compile(Class)}.
+   * @return The invocation handler.
+   */
+  public LitModelBinding bind(final LitComponentBase<?> component, final LitModelMethodTable methodTable) {
+    return new LitModelBinding(component, methodTable);
+  }
+
+  protected Object writeReplace() throws ObjectStreamException {
+    if(id != null) return new SerializedForm(id, getClass(), null);
+    final SharedReference reference = SHARED.get(annotationHandlers);
+
+    if(reference != null && reference.get() == this) return new SerializedForm(null, null, annotationHandlers);
+
+    return this;
+  }
+
+  private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+    stream.defaultReadObject();
+
+    methodTables = new ConcurrentHashMap<>();
+  }
+
+  // Getters
   //--------------------------------------------------
 
-  // InvocationHandler
-  //
+  /**
+   * Gets the ID.
+   *
+   * @return The ID, or {@code null} if the handler is not serialized as an ID.
+   */
+  public final String getId() {
+    return id;
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  private static final class SharedReference extends WeakReference<LitModelInvocationHandler> {
+
+    private SharedReference(final Map<Class<? extends Annotation>, LitAnnotationHandler> annotationHandlers, final LitModelInvocationHandler handler) {
+      super(handler, RELEASED);
+
+      this.annotationHandlers = annotationHandlers;
+    }
+
+    private final Map<Class<? extends Annotation>, LitAnnotationHandler> annotationHandlers;
+
+  }
+
+  private static final class SerializedForm implements Serializable {
+
+    private SerializedForm(final String id, final Class<?> type, final Map<Class<? extends Annotation>, LitAnnotationHandler> annotationHandlers) {
+      super();
+
+      this.id = id;
+      this.type = type;
+      this.annotationHandlers = annotationHandlers;
+    }
+
+    private final String id;
+
+    /**
+     * Initialized before the ID is resolved, so that handlers created by its initializer are registered.
+     */
+    private final Class<?> type;
+
+    private final Map<Class<? extends Annotation>, LitAnnotationHandler> annotationHandlers;
 
-  @Override
-  public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
-    final String methodName = method.getName();
+    private Object readResolve() throws ObjectStreamException {
+      if(id == null) return of(annotationHandlers);
 
-    // Required by proxy.
-    if(methodName.equals("equals")) return false;
-    if(methodName.equals("hashCode")) return 0;
+      try {
+        Class.forName(type.getName(), true, type.getClassLoader());
+      } catch(final ClassNotFoundException e) {
+        throw (InvalidObjectException)new InvalidObjectException(String.format(UNKNOWN_ID_EXCEPTION_MESSAGE_FORMAT, id)).initCause(e);
+      }
 
-    final Set<Class<? extends Annotation>> methodAnnotationsTypes = Arrays.stream(method.getDeclaredAnnotations())
-        .map(Annotation::annotationType)
-        .collect(Collectors.toUnmodifiableSet());
+      final LitModelInvocationHandler handler = IDENTIFIED.get(id);
 
-    for(final Class<? extends Annotation> methodAnnotationType : methodAnnotationsTypes) {
-      if(!annotationHandlers.containsKey(methodAnnotationType)) continue;
+      if(handler == null) throw new InvalidObjectException(String.format(UNKNOWN_ID_EXCEPTION_MESSAGE_FORMAT, id));
 
-      return annotationHandlers.get(methodAnnotationType)
-          .handle(proxy, method, args);
+      return handler;
     }
 
-    throw new LitModelMethodException(String.format(INVALID_LIT_MODEL_METHOD_EXCEPTION_MESSAGE_FORMAT, methodName));
   }
 
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.proxy;
+
+import com.oliveryasuna.commons.language.marker.Immutable;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The compiled methods of a {@link com.oliveryasuna.vaadin.lit.model.LitModel} type.
+ */
+@Immutable
+public final class LitModelMethodTable implements Serializable {
+
+  // Constructors
+  //--------------------------------------------------
+
+  LitModelMethodTable(final LitModelInvocationHandler invocationHandler, final Class<?> modelType, final Map<Method, LitModelMethodInvoker> invokers) {
+    super();
+
+    this.invocationHandler = invocationHandler;
+    this.modelType = modelType;
+    this.invokers = Collections.unmodifiableMap(invokers);
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final LitModelInvocationHandler invocationHandler;
+
+  private final Class<?> modelType;
+
+  private final Map<Method, LitModelMethodInvoker> invokers;
+
+  private final transient Map<Object, Object> states = new ConcurrentHashMap<>();
+
+  // Methods
+  //--------------------------------------------------
+
+  public LitModelMethodInvoker get(final Method method) {
+    return invokers.get(method);
+  }
+
+  /**
+   * Gets state derived from the table, creating it once.
+   * <p>
+   * The state lives as long as the table, and so as long as its invocation handler.
+   *
+   * @param key     The key, which should be owned by the caller.
+   * @param factory Creates the state.
+   * @param <T>     The type of the state.
+   * @return The state.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T getState(final Object key, final Supplier<? extends T> factory) {
+    final Object state = states.get(key);
+
+    return (T)(state != null ? state : states.computeIfAbsent(key, k -> factory.get()));
+  }
+
+  private Object writeReplace() {
+    return new SerializedForm(invocationHandler, modelType);
+  }
+
+  // Getters
+  //--------------------------------------------------
+
+  public LitModelInvocationHandler getInvocationHandler() {
+    return invocationHandler;
+  }
+
+  public Class<?> getModelType() {
+    return modelType;
+  }
+
+  public Map<Method, LitModelMethodInvoker> getInvokers() {
+    return invokers;
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  private static final class SerializedForm implements Serializable {
+
+    private SerializedForm(final LitModelInvocationHandler invocationHandler, final Class<?> modelType) {
+      super();
+
+      this.invocationHandler = invocationHandler;
+      this.modelType = modelType;
+    }
+
+    private final LitModelInvocationHandler invocationHandler;
+
+    private final Class<?> modelType;
+
+    private Object readResolve() {
+      return invocationHandler.compile(modelType);
+    }
+
+  }
+
+}
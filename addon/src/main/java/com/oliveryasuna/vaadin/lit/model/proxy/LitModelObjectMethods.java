@@ -0,0 +1,64 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.proxy;
+
+import java.lang.reflect.Method;
+
+/**
+ * Implements the {@link Object} methods of model proxies: identity equality and hash code, and a {@code toString()} of the model type.
+ */
+public final class LitModelObjectMethods {
+
+  // Static methods
+  //--------------------------------------------------
+
+  public static boolean isObjectMethod(final Method method) {
+    return (method.getDeclaringClass() == Object.class);
+  }
+
+  /**
+   * Invokes an {@link Object} method of a model proxy.
+   *
+   * @param proxy     The model proxy.
+   * @param method    The method, for which {@link #isObjectMethod(Method)} is {@code true}.
+   * @param args      The arguments.
+   * @param modelType The model type.
+   * @return The result.
+   */
+  public static Object invoke(final Object proxy, final Method method, final Object[] args, final Class<?> modelType) {
+    switch(method.getName()) {
+      case "equals":
+        return (proxy == args[0]);
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      default:
+        return modelType.getName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+    }
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private LitModelObjectMethods() {
+    super();
+
+    throw new UnsupportedOperationException();
+  }
+
+}
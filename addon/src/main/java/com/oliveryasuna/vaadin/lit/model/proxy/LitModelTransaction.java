@@ -0,0 +1,169 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.proxy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects model updates, so that they can be applied together.
+ * Not thread-safe.
+ */
+public final class LitModelTransaction {
+
+  // Constructors
+  //--------------------------------------------------
+
+  LitModelTransaction() {
+    super();
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Map<String, PropertyWrite> propertyWrites = new LinkedHashMap<>();
+
+  private final List<Operation> functionCalls = new ArrayList<>();
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Records a property write, replacing any pending write to the same property.
+   *
+   * @param propertyName The name of the property.
+   * @param value        The value that is written.
+   * @param write        The write.
+   */
+  public void writeProperty(final String propertyName, final Object value, final Operation write) {
+    propertyWrites.put(propertyName, new PropertyWrite(value, write));
+  }
+
+  /**
+   * Checks whether a property has a pending write.
+   *
+   * @param propertyName The name of the property.
+   * @return Whether the property has a pending write.
+   */
+  public boolean hasPendingWrite(final String propertyName) {
+    return propertyWrites.containsKey(propertyName);
+  }
+
+  /**
+   * Gets the value of the pending write to a property.
+   *
+   * @param propertyName The name of the property.
+   * @return The value, or {@code null} if there is no pending write.
+   */
+  public Object getPendingValue(final String propertyName) {
+    final PropertyWrite write = propertyWrites.get(propertyName);
+
+    return (write != null ? write.value : null);
+  }
+
+  /**
+   * Applies the pending write to a property, if any.
+   * <p>
+   * Called before the property is read, so that reads see the writes made earlier in the transaction.
+   *
+   * @param propertyName The name of the property.
+   * @throws Exception If the write fails.
+   */
+  public void flushProperty(final String propertyName) throws Exception {
+    final PropertyWrite write = propertyWrites.remove(propertyName);
+
+    if(write != null) write.write.apply();
+  }
+
+  /**
+   * Records a function call.
+   *
+   * @param call The call.
+   */
+  public void callFunction(final Operation call) {
+    functionCalls.add(call);
+  }
+
+  /**
+   * Applies and clears all pending updates.
+   * <p>
+   * An update that fails does not prevent the others from being applied.
+   *
+   * @throws Exception The failure of the first update that failed, with those of the later ones suppressed.
+   */
+  public void flush() throws Exception {
+    final List<Operation> operations = new ArrayList<>(propertyWrites.size() + functionCalls.size());
+
+    for(final PropertyWrite write : propertyWrites.values()) {
+      operations.add(write.write);
+    }
+
+    operations.addAll(functionCalls);
+
+    propertyWrites.clear();
+    functionCalls.clear();
+
+    Exception exception = null;
+
+    for(final Operation operation : operations) {
+      try {
+        operation.apply();
+      } catch(final Exception e) {
+        if(exception == null) {
+          exception = e;
+        } else {
+          exception.addSuppressed(e);
+        }
+      }
+    }
+
+    if(exception != null) throw exception;
+  }
+
+  /**
+   * A pending property write.
+   */
+  private static final class PropertyWrite {
+
+    private PropertyWrite(final Object value, final Operation write) {
+      super();
+
+      this.value = value;
+      this.write = write;
+    }
+
+    private final Object value;
+
+    private final Operation write;
+
+  }
+
+  /**
+   * A pending update.
+   */
+  @FunctionalInterface
+  public interface Operation {
+
+    void apply() throws Exception;
+
+  }
+
+}
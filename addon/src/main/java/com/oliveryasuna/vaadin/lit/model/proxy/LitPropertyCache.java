@@ -0,0 +1,276 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.proxy;
+
+import com.oliveryasuna.vaadin.lit.model.annotation.CachedLitModel;
+import com.oliveryasuna.vaadin.lit.model.annotation.LitProperty;
+import com.vaadin.flow.dom.Element;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Caches the property values of a single {@link CachedLitModel} model.
+ */
+public final class LitPropertyCache implements Serializable {
+
+  // Static fields
+  //--------------------------------------------------
+
+  public static final int NO_SLOT = -1;
+
+  private static final byte KIND_NONE = 0;
+
+  private static final byte KIND_INT = 1;
+
+  private static final byte KIND_DOUBLE = 2;
+
+  private static final byte KIND_BOOLEAN = 3;
+
+  private static final byte KIND_STRING = 4;
+
+  private static final String[] NO_PROPERTY_NAMES = new String[0];
+
+  private static final ClassValue<String[]> PROPERTY_NAMES = new ClassValue<>() {
+    @Override
+    protected String[] computeValue(final Class<?> modelType) {
+      return findPropertyNames(modelType);
+    }
+  };
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static String[] findPropertyNames(final Class<?> modelType) {
+    if(!modelType.isAnnotationPresent(CachedLitModel.class)) return NO_PROPERTY_NAMES;
+
+    return Arrays.stream(modelType.getMethods())
+        .map(method -> method.getAnnotation(LitProperty.class))
+        .filter(Objects::nonNull)
+        .map(LitProperty::name)
+        .distinct()
+        .sorted()
+        .toArray(String[]::new);
+  }
+
+  /**
+   * Checks whether the properties of a model type are cached.
+   *
+   * @param modelType The model type.
+   * @return Whether the properties are cached.
+   */
+  public static boolean isEnabled(final Class<?> modelType) {
+    return (PROPERTY_NAMES.get(modelType).length > 0);
+  }
+
+  /**
+   * Gets the slot of a property.
+   *
+   * @param modelType    The model type.
+   * @param propertyName The name of the property.
+   * @param valueType    The type of the property value.
+   * @return The slot, or {@link #NO_SLOT} if the property is not cached.
+   */
+  public static int slotOf(final Class<?> modelType, final String propertyName, final Class<?> valueType) {
+    if(kindOf(valueType) == KIND_NONE) return NO_SLOT;
+
+    final int slot = Arrays.binarySearch(PROPERTY_NAMES.get(modelType), propertyName);
+
+    return (slot >= 0 ? slot : NO_SLOT);
+  }
+
+  static LitPropertyCache create(final Class<?> modelType, final Element element) {
+    final String[] propertyNames = PROPERTY_NAMES.get(modelType);
+
+    return (propertyNames.length > 0 ? new LitPropertyCache(element, propertyNames) : null);
+  }
+
+  private static byte kindOf(final Class<?> valueType) {
+    if(valueType.equals(int.class)) return KIND_INT;
+    if(valueType.equals(double.class)) return KIND_DOUBLE;
+    if(valueType.equals(boolean.class)) return KIND_BOOLEAN;
+    if(valueType.equals(String.class)) return KIND_STRING;
+
+    return KIND_NONE;
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private LitPropertyCache(final Element element, final String[] propertyNames) {
+    super();
+
+    this.element = element;
+    this.propertyNames = propertyNames;
+    this.kinds = new byte[propertyNames.length];
+    this.primitives = new long[propertyNames.length];
+    this.strings = new String[propertyNames.length];
+    this.listening = new boolean[propertyNames.length];
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Element element;
+
+  private final String[] propertyNames;
+
+  private final byte[] kinds;
+
+  private final long[] primitives;
+
+  private final String[] strings;
+
+  private final boolean[] listening;
+
+  // Methods
+  //--------------------------------------------------
+
+  public boolean containsInt(final int slot) {
+    return (kinds[slot] == KIND_INT);
+  }
+
+  public boolean containsDouble(final int slot) {
+    return (kinds[slot] == KIND_DOUBLE);
+  }
+
+  public boolean containsBoolean(final int slot) {
+    return (kinds[slot] == KIND_BOOLEAN);
+  }
+
+  public boolean containsString(final int slot) {
+    return (kinds[slot] == KIND_STRING);
+  }
+
+  public int getInt(final int slot) {
+    return (int)primitives[slot];
+  }
+
+  public double getDouble(final int slot) {
+    return Double.longBitsToDouble(primitives[slot]);
+  }
+
+  public boolean getBoolean(final int slot) {
+    return (primitives[slot] != 0L);
+  }
+
+  public String getString(final int slot) {
+    return strings[slot];
+  }
+
+  public void putInt(final int slot, final int value) {
+    put(slot, KIND_INT, value, null);
+  }
+
+  public void putDouble(final int slot, final double value) {
+    put(slot, KIND_DOUBLE, Double.doubleToRawLongBits(value), null);
+  }
+
+  public void putBoolean(final int slot, final boolean value) {
+    put(slot, KIND_BOOLEAN, (value ? 1L : 0L), null);
+  }
+
+  public void putString(final int slot, final String value) {
+    put(slot, KIND_STRING, 0L, value);
+  }
+
+  /**
+   * Checks whether a slot holds a value.
+   *
+   * @param slot  The slot.
+   * @param value The value, boxed if primitive.
+   * @return Whether the slot holds the value.
+   */
+  public boolean contains(final int slot, final Object value) {
+    switch(kinds[slot]) {
+      case KIND_INT:
+        return (value instanceof Integer && getInt(slot) == (Integer)value);
+      case KIND_DOUBLE:
+        // Compares bits, so that NaN matches itself.
+        return (value instanceof Double && primitives[slot] == Double.doubleToRawLongBits((Double)value));
+      case KIND_BOOLEAN:
+        return (value instanceof Boolean && getBoolean(slot) == (Boolean)value);
+      case KIND_STRING:
+        return Objects.equals(strings[slot], value);
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Gets the value of a slot.
+   *
+   * @param slot The slot.
+   * @return The value, boxed if primitive.
+   */
+  public Object get(final int slot) {
+    switch(kinds[slot]) {
+      case KIND_INT:
+        return getInt(slot);
+      case KIND_DOUBLE:
+        return getDouble(slot);
+      case KIND_BOOLEAN:
+        return getBoolean(slot);
+      default:
+        return strings[slot];
+    }
+  }
+
+  /**
+   * Checks whether a slot holds a value of a type.
+   *
+   * @param slot      The slot.
+   * @param valueType The type of the value.
+   * @return Whether the slot holds a value of the type.
+   */
+  public boolean contains(final int slot, final Class<?> valueType) {
+    final byte kind = kinds[slot];
+
+    return (kind != KIND_NONE && kind == kindOf(valueType));
+  }
+
+  /**
+   * Stores the value of a slot.
+   *
+   * @param slot  The slot.
+   * @param value The value, boxed if primitive.
+   */
+  public void put(final int slot, final Object value) {
+    if(value instanceof Integer) putInt(slot, (Integer)value);
+    else if(value instanceof Double) putDouble(slot, (Double)value);
+    else if(value instanceof Boolean) putBoolean(slot, (Boolean)value);
+    else if(value == null || value instanceof String) putString(slot, (String)value);
+  }
+
+  private void put(final int slot, final byte kind, final long primitive, final String string) {
+    if(!listening[slot]) {
+      // Invalidates the slot on any change, including ones that are not made through the model.
+      // The model's own writes are stored again right after they are applied.
+      element.addPropertyChangeListener(propertyNames[slot], event -> kinds[slot] = KIND_NONE);
+
+      listening[slot] = true;
+    }
+
+    kinds[slot] = kind;
+    primitives[slot] = primitive;
+    strings[slot] = string;
+  }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.proxy;
+
+import com.oliveryasuna.vaadin.lit.exception.LitModelException;
+import com.vaadin.flow.function.SerializableBiConsumer;
+import com.vaadin.flow.shared.Registration;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes the values of a {@link Flow.Publisher} to an {@link LitAsyncModelBinding asynchronous model}, requesting values as the model is flushed.
+ *
+ * @param <M> The type of the model.
+ * @param <T> The type of the values.
+ */
+public final class LitPublisherSubscriber<M, T> implements Flow.Subscriber<T>, Registration {
+
+  // Constructors
+  //--------------------------------------------------
+
+  /**
+   * Creates the subscriber.
+   * <p>
+   * Must be called while the session of the component, if any, is locked.
+   *
+   * @param asyncBinding The binding of {@code model}.
+   * @param model        The asynchronous model.
+   * @param setter       Writes a value to the model.
+   */
+  public LitPublisherSubscriber(final LitAsyncModelBinding asyncBinding, final M model, final SerializableBiConsumer<? super M, ? super T> setter) {
+    super();
+
+    this.asyncBinding = asyncBinding;
+    this.model = model;
+    this.setter = setter;
+    this.detachRegistration = asyncBinding.getBinding().getComponent().addDetachListener(event -> remove());
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final LitAsyncModelBinding asyncBinding;
+
+  private final M model;
+
+  private final SerializableBiConsumer<? super M, ? super T> setter;
+
+  private final Registration detachRegistration;
+
+  private transient volatile Flow.Subscription subscription;
+
+  private volatile boolean cancelled;
+
+  /**
+   * Whether a value was received since the last flush.
+   */
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+  /**
+   * Whether demand is withheld until the next flush.
+   */
+  private final AtomicBoolean stalled = new AtomicBoolean();
+
+  // Methods
+  //--------------------------------------------------
+
+  private void flushed() {
+    flushRequested.set(false);
+
+    if(stalled.compareAndSet(true, false)) request();
+  }
+
+  private void request() {
+    final Flow.Subscription subscription = this.subscription;
+
+    if(!cancelled && subscription != null) subscription.request(1L);
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // Flow.Subscriber
+  //
+
+  @Override
+  public void onSubscribe(final Flow.Subscription subscription) {
+    if(this.subscription != null || cancelled) {
+      subscription.cancel();
+      return;
+    }
+
+    this.subscription = subscription;
+
+    request();
+  }
+
+  @Override
+  public void onNext(final T value) {
+    if(cancelled) return;
+
+    setter.accept(model, value);
+
+    if(flushRequested.compareAndSet(false, true)) {
+      asyncBinding.execute(this::flushed);
+
+      // Lets the next value replace this one until the flush.
+      request();
+    } else {
+      stalled.set(true);
+
+      // The flush may have run before demand was withheld.
+      if(!flushRequested.get() && stalled.compareAndSet(true, false)) request();
+    }
+  }
+
+  @Override
+  public void onError(final Throwable throwable) {
+    // Reported rather than thrown, as the task runs in the transaction of the flush.
+    asyncBinding.execute(() -> {
+      detachRegistration.remove();
+
+      asyncBinding.reportError(new LitModelException(asyncBinding.getBinding().getMethodTable().getModelType(), "Publisher failed.", throwable));
+    });
+  }
+
+  @Override
+  public void onComplete() {
+    asyncBinding.execute(detachRegistration::remove);
+  }
+
+  // Registration
+  //
+
+  /**
+   * Cancels the subscription.
+   * <p>
+   * Values that were received, but not flushed yet, are still written.
+   * Must be called while the session is locked.
+   */
+  @Override
+  public void remove() {
+    cancelled = true;
+
+    detachRegistration.remove();
+
+    final Flow.Subscription subscription = this.subscription;
+
+    if(subscription != null) subscription.cancel();
+  }
+
+  // Getters
+  //--------------------------------------------------
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.proxy;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flushes the {@link LitAsyncModelBinding asynchronous models} of a UI together, in one {@link UI#access(com.vaadin.flow.server.Command)} per tick.
+ * Safe for concurrent use.
+ */
+public final class LitUpdateScheduler implements Serializable {
+
+  // Static fields
+  //--------------------------------------------------
+
+  /**
+   * The default tick interval, in milliseconds, which is about 60 ticks per second.
+   */
+  public static final long DEFAULT_TICK_INTERVAL = 16L;
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Gets the scheduler of a UI, creating it if necessary.
+   * <p>
+   * Must be called while the session is locked.
+   *
+   * @param ui The UI.
+   * @return The scheduler.
+   */
+  public static LitUpdateScheduler get(final UI ui) {
+    final LitUpdateScheduler existing = ComponentUtil.getData(ui, LitUpdateScheduler.class);
+
+    if(existing != null) return existing;
+
+    final LitUpdateScheduler scheduler = new LitUpdateScheduler(ui);
+
+    ComponentUtil.setData(ui, LitUpdateScheduler.class, scheduler);
+
+    return scheduler;
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private LitUpdateScheduler(final UI ui) {
+    super();
+
+    this.ui = ui;
+    this.lastTick = System.nanoTime();
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final UI ui;
+
+  private volatile long tickInterval = DEFAULT_TICK_INTERVAL;
+
+  private volatile int maxFlushesPerTick = Integer.MAX_VALUE;
+
+  private transient Map<LitAsyncModelBinding, Request> requests = new ConcurrentHashMap<>();
+
+  private transient AtomicBoolean scheduled = new AtomicBoolean();
+
+  private transient AtomicLong sequence = new AtomicLong();
+
+  /**
+   * The {@link System#nanoTime()} of the last tick.
+   */
+  private transient volatile long lastTick;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Requests a flush of a binding at the next tick.
+   *
+   * @param binding The binding.
+   */
+  void request(final LitAsyncModelBinding binding) {
+    requests.putIfAbsent(binding, new Request(binding, sequence.getAndIncrement()));
+
+    schedule();
+  }
+
+  /**
+   * Flushes every binding that requested it now, regardless of the tick and of {@link #getMaxFlushesPerTick()}.
+   * <p>
+   * Must be called while the session is locked.
+   */
+  public void flush() {
+    for(final LitAsyncModelBinding binding : requests.keySet()) {
+      requests.remove(binding);
+      binding.flush();
+    }
+  }
+
+  private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+    stream.defaultReadObject();
+
+    requests = new ConcurrentHashMap<>();
+    scheduled = new AtomicBoolean();
+    sequence = new AtomicLong();
+    lastTick = System.nanoTime();
+  }
+
+  private void schedule() {
+    if(requests.isEmpty() || !scheduled.compareAndSet(false, true)) return;
+
+    final long delay = (lastTick + TimeUnit.MILLISECONDS.toNanos(tickInterval) - System.nanoTime());
+
+    if(delay <= 0L) {
+      access();
+    } else {
+      CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(this::access);
+    }
+  }
+
+  private void access() {
+    try {
+      ui.access(this::tick);
+    } catch(final UIDetachedException e) {
+      // The bindings request again on their next call, or when they are attached to another UI.
+      for(final LitAsyncModelBinding binding : requests.keySet()) {
+        requests.remove(binding);
+        binding.requestDropped();
+      }
+
+      scheduled.set(false);
+    }
+  }
+
+  private void tick() {
+    lastTick = System.nanoTime();
+
+    // Requests made from now on schedule another tick.
+    scheduled.set(false);
+
+    final List<Request> pending = new ArrayList<>(requests.values());
+
+    pending.sort(Comparator.comparingLong(Request::getEffectivePriority).reversed().thenComparingLong(Request::getSequence));
+
+    int flushes = maxFlushesPerTick;
+    RuntimeException exception = null;
+
+    for(final Request request : pending) {
+      if(flushes == 0) {
+        request.age++;
+        continue;
+      }
+
+      flushes--;
+
+      requests.remove(request.binding);
+
+      // One failing component does not hold back the others.
+      try {
+        request.binding.flush();
+      } catch(final RuntimeException e) {
+        if(exception == null) {
+          exception = e;
+        } else {
+          exception.addSuppressed(e);
+        }
+      }
+    }
+
+    schedule();
+
+    if(exception != null) throw exception;
+  }
+
+  // Getters/setters
+  //--------------------------------------------------
+
+  public UI getUI() {
+    return ui;
+  }
+
+  public long getTickInterval() {
+    return tickInterval;
+  }
+
+  /**
+   * Sets the tick interval.
+   *
+   * @param tickInterval The tick interval, in milliseconds; {@code 0} flushes as soon as possible.
+   */
+  public void setTickInterval(final long tickInterval) {
+    if(tickInterval < 0L) throw new IllegalArgumentException("Negative tick interval [" + tickInterval + "].");
+
+    this.tickInterval = tickInterval;
+  }
+
+  public int getMaxFlushesPerTick() {
+    return maxFlushesPerTick;
+  }
+
+  /**
+   * Sets the maximum number of bindings that are flushed per tick.
+   *
+   * @param maxFlushesPerTick The maximum number of flushes, {@link Integer#MAX_VALUE} for no limit.
+   */
+  public void setMaxFlushesPerTick(final int maxFlushesPerTick) {
+    if(maxFlushesPerTick < 1) throw new IllegalArgumentException("Non-positive flushes per tick [" + maxFlushesPerTick + "].");
+
+    this.maxFlushesPerTick = maxFlushesPerTick;
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * A pending flush of a binding.
+   */
+  private static final class Request {
+
+    private Request(final LitAsyncModelBinding binding, final long sequence) {
+      super();
+
+      this.binding = binding;
+      this.sequence = sequence;
+    }
+
+    private final LitAsyncModelBinding binding;
+
+    private final long sequence;
+
+    /**
+     * The number of ticks that the request waited.
+     * Only accessed while the session is locked.
+     */
+    private int age;
+
+    private long getEffectivePriority() {
+      return ((long)binding.getPriority() + age);
+    }
+
+    private long getSequence() {
+      return sequence;
+    }
+
+  }
+
+}
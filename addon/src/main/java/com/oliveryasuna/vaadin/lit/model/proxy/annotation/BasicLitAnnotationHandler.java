@@ -20,6 +20,7 @@ package com.oliveryasuna.vaadin.lit.model.proxy.annotation;
 
 import com.oliveryasuna.commons.language.marker.Immutable;
 import com.oliveryasuna.vaadin.lit.exception.LitModelMethodSignatureException;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelMethodInvoker;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
@@ -66,7 +67,7 @@ public abstract class BasicLitAnnotationHandler<A extends Annotation> implements
   // Methods
   //--------------------------------------------------
 
-  protected abstract Object handle0(final A annotation, final Object proxy, final Method method, final Object[] arguments) throws Exception;
+  protected abstract LitModelMethodInvoker compile0(final A annotation, final Class<?> modelType, final Method method);
 
   private boolean validateRequiredAnnotations(final Set<Class<? extends Annotation>> annotationTypes) {
     return annotationTypes.equals(requiredAnnotationTypes);
@@ -87,22 +88,22 @@ public abstract class BasicLitAnnotationHandler<A extends Annotation> implements
   //
 
   @Override
-  public final Object handle(final Object proxy, final Method method, final Object[] arguments) throws Exception {
+  public final LitModelMethodInvoker compile(final Class<?> modelType, final Method method) {
     final Set<Class<? extends Annotation>> methodAnnotationTypes = Arrays.stream(method.getDeclaredAnnotations())
         .map(Annotation::annotationType)
         .filter(annotationType -> !annotationType.equals(this.annotationType))
         .collect(Collectors.toUnmodifiableSet());
 
     if(!validateRequiredAnnotations(methodAnnotationTypes))
-      throw new LitModelMethodSignatureException(proxy,
+      throw new LitModelMethodSignatureException(modelType,
           String.format(REQUIRED_ANNOTATIONS_MISSING_EXCEPTION_MESSAGE_FORMAT, annotationType.getSimpleName(), method.getName()));
 
     if(!validateMutuallyExclusiveAnnotations(methodAnnotationTypes))
-      throw new LitModelMethodSignatureException(proxy,
+      throw new LitModelMethodSignatureException(modelType,
           String.format(MUTUALLY_EXCLUSIVE_ANNOTATIONS_PRESENT_EXCEPTION_MESSAGE_FORMAT, annotationType.getSimpleName(), method.getName()));
 
-    // InvocationHandler ensures that the annotation is present.
-    return handle0(method.getAnnotation(annotationType), proxy, method, arguments);
+    // LitModelInvocationHandler ensures that the annotation is present.
+    return compile0(method.getAnnotation(annotationType), modelType, method);
   }
 
   // Getters
@@ -19,10 +19,11 @@
 package com.oliveryasuna.vaadin.lit.model.proxy.annotation;
 
 import com.oliveryasuna.commons.language.marker.Singleton;
+import com.oliveryasuna.vaadin.lit.model.annotation.LitDataSource;
 import com.oliveryasuna.vaadin.lit.model.annotation.LitProperty;
 
+import java.io.Serializable;
 import java.lang.annotation.Annotation;
-import java.util.Collections;
 import java.util.Set;
 
 @Singleton
@@ -31,7 +32,7 @@ public final class DefaultLitFunctionAnnotationHandler extends LitFunctionAnnota
   // Static fields
   //--------------------------------------------------
 
-  private static final Set<Class<? extends Annotation>> MUTUALLY_EXCLUSIVE_ANNOTATION_TYPES = Collections.singleton(LitProperty.class);
+  private static final Set<Class<? extends Annotation>> MUTUALLY_EXCLUSIVE_ANNOTATION_TYPES = Set.of(LitProperty.class, LitDataSource.class);
 
   // Singleton
   //--------------------------------------------------
@@ -49,4 +50,29 @@ public final class DefaultLitFunctionAnnotationHandler extends LitFunctionAnnota
     super(null, MUTUALLY_EXCLUSIVE_ANNOTATION_TYPES);
   }
 
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Writes the singleton without its state.
+   */
+  private Object writeReplace() {
+    return new SerializedForm();
+  }
+
+  private Object readResolve() {
+    return INSTANCE;
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  private static final class SerializedForm implements Serializable {
+
+    private Object readResolve() {
+      return INSTANCE;
+    }
+
+  }
+
 }
@@ -19,11 +19,18 @@
 package com.oliveryasuna.vaadin.lit.model.proxy.annotation;
 
 import com.oliveryasuna.commons.language.marker.Singleton;
+import com.oliveryasuna.vaadin.lit.model.annotation.LitDataSource;
 import com.oliveryasuna.vaadin.lit.model.annotation.LitFunction;
 import com.oliveryasuna.vaadin.lit.model.property.*;
+import com.vaadin.flow.server.InputStreamFactory;
 
+import java.io.Serializable;
 import java.lang.annotation.Annotation;
-import java.util.Collections;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Map;
 import java.util.Set;
 
@@ -33,16 +40,29 @@ public final class DefaultLitPropertyAnnotationHandler extends LitPropertyAnnota
   // Static fields
   //--------------------------------------------------
 
-  private static final Map<Class<?>, LitPropertyHandlers> PROPERTY_TYPE_HANDLERS = Map.of(
-      String.class, StringPropertyHandlers.getInstance(),
-      boolean.class, BooleanPropertyHandlers.getInstance(),
-      int.class, IntegerPropertyHandlers.getInstance(),
-      double.class, DoublePropertyHandlers.getInstance()
-      // TODO: Others.
-      //       Will complicate the process, since some are base classes.
+  private static final Map<Class<?>, LitPropertyHandlers> PROPERTY_TYPE_HANDLERS = Map.ofEntries(
+      Map.entry(String.class, StringPropertyHandlers.getInstance()),
+      Map.entry(boolean.class, BooleanPropertyHandlers.getInstance()),
+      Map.entry(int.class, IntegerPropertyHandlers.getInstance()),
+      Map.entry(long.class, LongPropertyHandlers.getInstance()),
+      Map.entry(float.class, FloatPropertyHandlers.getInstance()),
+      Map.entry(double.class, DoublePropertyHandlers.getInstance()),
+      Map.entry(Boolean.class, BoxedPropertyHandlers.of(Boolean.class)),
+      Map.entry(Integer.class, BoxedPropertyHandlers.of(Integer.class)),
+      Map.entry(Long.class, BoxedPropertyHandlers.of(Long.class)),
+      Map.entry(Float.class, BoxedPropertyHandlers.of(Float.class)),
+      Map.entry(Double.class, BoxedPropertyHandlers.of(Double.class)),
+      Map.entry(BigDecimal.class, BigDecimalPropertyHandlers.getInstance()),
+      Map.entry(Instant.class, InstantPropertyHandlers.getInstance()),
+      Map.entry(LocalDate.class, LocalDatePropertyHandlers.getInstance()),
+      Map.entry(LitList.class, LitListPropertyHandlers.getInstance()),
+      Map.entry(byte[].class, BinaryPropertyHandlers.getInstance()),
+      Map.entry(ByteBuffer.class, BinaryPropertyHandlers.getInstance()),
+      Map.entry(Path.class, BinaryPropertyHandlers.getInstance()),
+      Map.entry(InputStreamFactory.class, BinaryPropertyHandlers.getInstance())
   );
 
-  private static final Set<Class<? extends Annotation>> MUTUALLY_EXCLUSIVE_ANNOTATION_TYPES = Collections.singleton(LitFunction.class);
+  private static final Set<Class<? extends Annotation>> MUTUALLY_EXCLUSIVE_ANNOTATION_TYPES = Set.of(LitFunction.class, LitDataSource.class);
 
   // Singleton
   //--------------------------------------------------
@@ -60,4 +80,47 @@ public final class DefaultLitPropertyAnnotationHandler extends LitPropertyAnnota
     super(PROPERTY_TYPE_HANDLERS, null, MUTUALLY_EXCLUSIVE_ANNOTATION_TYPES);
   }
 
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Writes the singleton without its state.
+   */
+  private Object writeReplace() {
+    return new SerializedForm();
+  }
+
+  private Object readResolve() {
+    return INSTANCE;
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // LitPropertyAnnotationHandler
+  //
+
+  @Override
+  protected LitPropertyHandlers findPropertyHandlers(final Class<?> type) {
+    final LitPropertyHandlers propertyHandlers = super.findPropertyHandlers(type);
+
+    if(propertyHandlers != null) return propertyHandlers;
+
+    if(type.isEnum()) return EnumPropertyHandlers.of(type);
+
+    // Objects, maps and beans.
+    return (JsonPropertyHandlers.supports(type) ? JsonPropertyHandlers.of(type) : null);
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  private static final class SerializedForm implements Serializable {
+
+    private Object readResolve() {
+      return INSTANCE;
+    }
+
+  }
+
 }
@@ -18,11 +18,24 @@
 
 package com.oliveryasuna.vaadin.lit.model.proxy.annotation;
 
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelMethodInvoker;
+
+import java.io.Serializable;
 import java.lang.reflect.Method;
 
 // TODO: Javadoc.
-public interface LitAnnotationHandler {
+public interface LitAnnotationHandler extends Serializable {
 
-  Object handle(Object proxy, Method method, Object[] arguments) throws Exception;
+  /**
+   * Validates a model method and compiles it into an invoker.
+   * <p>
+   * Called once per model type and method.
+   *
+   * @param modelType The model type.
+   * @param method    The model method.
+   * @return The invoker.
+   * @throws com.oliveryasuna.vaadin.lit.exception.LitModelException If the method is invalid.
+   */
+  LitModelMethodInvoker compile(Class<?> modelType, Method method);
 
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.proxy.annotation;
+
+import com.oliveryasuna.vaadin.lit.exception.LitModelMethodSignatureException;
+import com.oliveryasuna.vaadin.lit.model.annotation.LitDataSource;
+import com.oliveryasuna.vaadin.lit.model.data.LitDataSourceConnector;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelMethodInvoker;
+import com.vaadin.flow.data.provider.DataProvider;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+public class LitDataSourceAnnotationHandler extends BasicLitAnnotationHandler<LitDataSource> {
+
+  // Static fields
+  //--------------------------------------------------
+
+  protected static final String UNSUPPORTED_SIGNATURE_EXCEPTION_MESSAGE_FORMAT = "" +
+      "Annotated [%s] model method [%s] must return void and take a single [%s].";
+
+  protected static final String INVALID_PAGING_EXCEPTION_MESSAGE_FORMAT = "" +
+      "Annotated [%s] model method [%s] has an invalid page size [%d], cache size [%d] or prefetch [%d].";
+
+  // Constructors
+  //--------------------------------------------------
+
+  protected LitDataSourceAnnotationHandler(final Set<Class<? extends Annotation>> requiredAnnotationTypes,
+      final Set<Class<? extends Annotation>> mutuallyExclusiveAnnotationTypes) {
+    super(LitDataSource.class, requiredAnnotationTypes, mutuallyExclusiveAnnotationTypes);
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // BasicLitAnnotationHandler
+  //
+
+  @Override
+  protected final LitModelMethodInvoker compile0(final LitDataSource annotation, final Class<?> modelType, final Method method) {
+    if(!method.getReturnType().equals(Void.TYPE) || method.getParameterCount() != 1 || !DataProvider.class.isAssignableFrom(method.getParameterTypes()[0]))
+      throw new LitModelMethodSignatureException(modelType, String.format(UNSUPPORTED_SIGNATURE_EXCEPTION_MESSAGE_FORMAT,
+          getAnnotationType().getSimpleName(), method.getName(), DataProvider.class.getSimpleName()));
+
+    if(annotation.pageSize() < 1 || annotation.cacheSize() < 1 || annotation.prefetch() < 0)
+      throw new LitModelMethodSignatureException(modelType, String.format(INVALID_PAGING_EXCEPTION_MESSAGE_FORMAT,
+          getAnnotationType().getSimpleName(), method.getName(), annotation.pageSize(), annotation.cacheSize(), annotation.prefetch()));
+
+    return (binding, arguments) -> {
+      LitDataSourceConnector.get(binding.getComponent(), annotation).setDataProvider((DataProvider<?, ?>)arguments[0]);
+
+      return null;
+    };
+  }
+
+}
@@ -18,16 +18,40 @@
 
 package com.oliveryasuna.vaadin.lit.model.proxy.annotation;
 
+import com.oliveryasuna.vaadin.lit.exception.LitModelMethodSignatureException;
 import com.oliveryasuna.vaadin.lit.model.annotation.LitFunction;
-import com.oliveryasuna.vaadin.lit.model.proxy.LitModelProxyComponentRegistry;
+import com.oliveryasuna.vaadin.lit.model.function.LitFunctionDispatcher;
+import com.oliveryasuna.vaadin.lit.model.function.LitFunctionResults;
+import com.oliveryasuna.vaadin.lit.model.jfr.LitFunctionDispatchEvent;
+import com.oliveryasuna.vaadin.lit.model.jfr.LitFunctionResultEvent;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelMethodInvoker;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelTransaction;
 import com.vaadin.flow.component.page.PendingJavaScriptResult;
 
+import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Set;
 
 public class LitFunctionAnnotationHandler extends BasicLitAnnotationHandler<LitFunction> {
 
+  // Static fields
+  //--------------------------------------------------
+
+  protected static final String UNSUPPORTED_PARAMETER_TYPE_EXCEPTION_MESSAGE_FORMAT = "" +
+      "Annotated [%s] model method [%s] does not support the parameter type [%s].";
+
+  protected static final String UNSUPPORTED_DISPATCH_RETURN_TYPE_EXCEPTION_MESSAGE_FORMAT = "" +
+      "Annotated [%s] model method [%s] does not support the dispatch [%s] with the return type [%s].";
+
+  protected static final String INVALID_THROTTLE_EXCEPTION_MESSAGE_FORMAT = "" +
+      "Annotated [%s] model method [%s] has an invalid throttle of [%d] calls per [%d] milliseconds.";
+
+  private static final Serializable[] NO_ARGUMENTS = new Serializable[0];
+
   // Constructors
   //--------------------------------------------------
 
@@ -36,6 +60,31 @@ public class LitFunctionAnnotationHandler extends BasicLitAnnotationHandler<LitF
     super(LitFunction.class, requiredAnnotationTypes, mutuallyExclusiveAnnotationTypes);
   }
 
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Resolves {@code T} of a {@code CompletableFuture<T>} return type.
+   */
+  private static Class<?> futureValueType(final Method method) {
+    final Type returnType = method.getGenericReturnType();
+
+    if(!(returnType instanceof ParameterizedType)) return Object.class;
+
+    final Type valueType = ((ParameterizedType)returnType).getActualTypeArguments()[0];
+
+    if(valueType instanceof Class) return (Class<?>)valueType;
+    if(valueType instanceof ParameterizedType) return (Class<?>)((ParameterizedType)valueType).getRawType();
+
+    return Object.class;
+  }
+
+  private static Serializable[] toSerializableArguments(final Object[] arguments) {
+    if(arguments == null) return NO_ARGUMENTS;
+
+    return Arrays.copyOf(arguments, arguments.length, Serializable[].class);
+  }
+
   // Overrides
   //--------------------------------------------------
 
@@ -43,15 +92,102 @@ public class LitFunctionAnnotationHandler extends BasicLitAnnotationHandler<LitF
   //
 
   @Override
-  protected final Object handle0(final LitFunction annotation, final Object proxy, final Method method, final Object[] arguments) throws Exception {
-    final Class<?> returnType = method.getReturnType();
+  protected final LitModelMethodInvoker compile0(final LitFunction annotation, final Class<?> modelType, final Method method) {
+    for(final Class<?> parameterType : method.getParameterTypes()) {
+      if(!parameterType.isPrimitive() && !Serializable.class.isAssignableFrom(parameterType))
+        throw new LitModelMethodSignatureException(modelType, String.format(UNSUPPORTED_PARAMETER_TYPE_EXCEPTION_MESSAGE_FORMAT,
+            getAnnotationType().getSimpleName(), method.getName(), parameterType.getSimpleName()));
+    }
+
+    if(annotation.dispatch() != LitFunction.Dispatch.IMMEDIATE && !method.getReturnType().equals(Void.TYPE))
+      throw new LitModelMethodSignatureException(modelType, String.format(UNSUPPORTED_DISPATCH_RETURN_TYPE_EXCEPTION_MESSAGE_FORMAT,
+          getAnnotationType().getSimpleName(), method.getName(), annotation.dispatch(), method.getReturnType().getSimpleName()));
+
+    if(annotation.dispatch() == LitFunction.Dispatch.THROTTLE && (annotation.throttleLimit() < 1 || annotation.throttleInterval() < 1L))
+      throw new LitModelMethodSignatureException(modelType, String.format(INVALID_THROTTLE_EXCEPTION_MESSAGE_FORMAT,
+          getAnnotationType().getSimpleName(), method.getName(), annotation.throttleLimit(), annotation.throttleInterval()));
+
+    final String functionName = annotation.name();
+    final boolean returnsResult = PendingJavaScriptResult.class.isAssignableFrom(method.getReturnType());
+    final boolean returnsFuture = LitFunctionResults.isFutureType(method.getReturnType());
+
+    if(!returnsResult && !returnsFuture) {
+      final LitFunctionDispatcher dispatcher = LitFunctionDispatcher.of(annotation);
+      final String dispatch = annotation.dispatch().name();
+
+      return (binding, arguments) -> {
+        final LitFunctionDispatchEvent event = new LitFunctionDispatchEvent();
+
+        event.begin();
+
+        final LitModelTransaction transaction = binding.getTransaction();
+        final Serializable[] serializableArguments = toSerializableArguments(arguments);
+
+        if(transaction != null) {
+          transaction.callFunction(() -> dispatcher.dispatch(binding, serializableArguments));
+        } else {
+          dispatcher.dispatch(binding, serializableArguments);
+        }
+
+        if(event.shouldCommit()) {
+          event.componentClass = binding.getComponent().getClass();
+          event.functionName = functionName;
+          event.dispatch = dispatch;
+          event.argumentCount = serializableArguments.length;
+          event.deferred = (transaction != null);
+          event.commit();
+        }
+
+        return null;
+      };
+    }
+
+    final Class<?> futureValueType = (returnsFuture ? futureValueType(method) : null);
+    final long timeout = annotation.timeout();
+
+    return (binding, arguments) -> {
+      final LitFunctionDispatchEvent event = new LitFunctionDispatchEvent();
+
+      event.begin();
+
+      final LitModelTransaction transaction = binding.getTransaction();
+
+      // The result cannot be deferred, so everything before the call is applied now.
+      if(transaction != null) transaction.flush();
+
+      final Serializable[] serializableArguments = toSerializableArguments(arguments);
+      PendingJavaScriptResult result = binding.getElement().callJsFunction(functionName, serializableArguments);
+
+      if(event.shouldCommit()) {
+        event.componentClass = binding.getComponent().getClass();
+        event.functionName = functionName;
+        event.dispatch = LitFunction.Dispatch.IMMEDIATE.name();
+        event.argumentCount = serializableArguments.length;
+        event.commit();
+      }
+
+      if(LitFunctionResultEvent.isRecorded()) {
+        final Class<?> componentClass = binding.getComponent().getClass();
+        final long start = System.nanoTime();
+
+        // Only serializable state is captured, as pending results are part of the session.
+        result = LitFunctionResults.whenComplete(result, succeeded -> {
+          final LitFunctionResultEvent resultEvent = new LitFunctionResultEvent();
 
-    final PendingJavaScriptResult result = LitModelProxyComponentRegistry.getInstance().get(proxy).getElement()
-        .callJsFunction(annotation.name(), arguments);
+          if(resultEvent.shouldCommit()) {
+            resultEvent.componentClass = componentClass;
+            resultEvent.functionName = functionName;
+            resultEvent.succeeded = succeeded;
+            resultEvent.roundTrip = System.nanoTime() - start;
+            resultEvent.commit();
+          }
+        });
+      }
 
-    if(PendingJavaScriptResult.class.isAssignableFrom(returnType)) return result;
+      if(!returnsFuture) return result;
 
-    return null;
+      return LitFunctionResults.toCompletableFuture(result, futureValueType, timeout, binding.getElement());
+    };
   }
 
 }
@@ -21,13 +21,17 @@ package com.oliveryasuna.vaadin.lit.model.proxy.annotation;
 import com.oliveryasuna.commons.language.marker.Immutable;
 import com.oliveryasuna.vaadin.lit.exception.LitModelMethodSignatureException;
 import com.oliveryasuna.vaadin.lit.model.annotation.LitProperty;
+import com.oliveryasuna.vaadin.lit.model.property.LitPropertyAccessor;
 import com.oliveryasuna.vaadin.lit.model.property.LitPropertyHandlers;
-import com.oliveryasuna.vaadin.lit.model.proxy.LitModelProxyComponentRegistry;
-import com.vaadin.flow.dom.Element;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelMethodInvoker;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitPropertyCache;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -45,6 +49,28 @@ public class LitPropertyAnnotationHandler extends BasicLitAnnotationHandler<LitP
   protected static final String UNSUPPORTED_PARAMETER_TYPE_EXCEPTION_MESSAGE_FORMAT = "" +
       "Annotated [%s] model method [%s] does not support the parameter type [%s].";
 
+  protected static final String INVALID_DEFAULT_VALUE_EXCEPTION_MESSAGE_FORMAT = "" +
+      "Annotated [%s] model method [%s] has an invalid default value [%s] for type [%s].";
+
+  private static final Map<Class<?>, Class<?>> PRIMITIVE_EQUIVALENTS = Map.ofEntries(
+      Map.entry(boolean.class, Boolean.class),
+      Map.entry(byte.class, Byte.class),
+      Map.entry(char.class, Character.class),
+      Map.entry(short.class, Short.class),
+      Map.entry(int.class, Integer.class),
+      Map.entry(long.class, Long.class),
+      Map.entry(float.class, Float.class),
+      Map.entry(double.class, Double.class),
+      Map.entry(Boolean.class, boolean.class),
+      Map.entry(Byte.class, byte.class),
+      Map.entry(Character.class, char.class),
+      Map.entry(Short.class, short.class),
+      Map.entry(Integer.class, int.class),
+      Map.entry(Long.class, long.class),
+      Map.entry(Float.class, float.class),
+      Map.entry(Double.class, double.class)
+  );
+
   // Constructors
   //--------------------------------------------------
 
@@ -63,24 +89,93 @@ public class LitPropertyAnnotationHandler extends BasicLitAnnotationHandler<LitP
   // Methods
   //--------------------------------------------------
 
-  protected Object handleGetter(final Class<?> returnType, final Element element, final String propertyName, final LitProperty annotation, final Object proxy,
-      final Method method, final Object[] arguments) throws Exception {
-    if(!propertyTypeHandlers.containsKey(returnType))
-      throw new LitModelMethodSignatureException(String.format(UNSUPPORTED_RETURN_TYPE_EXCEPTION_MESSAGE_FORMAT, annotation.getClass().getSimpleName(),
-          method.getName(), returnType.getSimpleName()));
+  private LitPropertyAccessor bind(final LitPropertyHandlers propertyHandlers, final Class<?> type, final String propertyName, final LitProperty annotation,
+      final Class<?> modelType, final Method method) {
+    try {
+      return propertyHandlers.bind(propertyName, annotation);
+    } catch(final IllegalArgumentException e) {
+      throw new LitModelMethodSignatureException(modelType, String.format(INVALID_DEFAULT_VALUE_EXCEPTION_MESSAGE_FORMAT,
+          getAnnotationType().getSimpleName(), method.getName(), annotation.defaultValue(), type.getSimpleName()), e);
+    }
+  }
+
+  /**
+   * Finds the handlers of a property type.
+   * <p>
+   * The handlers of the type itself are preferred, then those of its primitive or boxed equivalent, and then those of its nearest supertype, with
+   * superclasses before interfaces.
+   * Called once per model method, when the model is compiled; the invoker keeps the result.
+   *
+   * @param type The property type.
+   * @return The handlers, or {@code null} if the type is not supported.
+   */
+  protected LitPropertyHandlers findPropertyHandlers(final Class<?> type) {
+    LitPropertyHandlers propertyHandlers = propertyTypeHandlers.get(type);
 
-    return propertyTypeHandlers.get(returnType)
-        .get(element, propertyName, annotation);
+    if(propertyHandlers != null) return propertyHandlers;
+
+    final Class<?> equivalentType = PRIMITIVE_EQUIVALENTS.get(type);
+
+    if(equivalentType != null && (propertyHandlers = propertyTypeHandlers.get(equivalentType)) != null) return propertyHandlers;
+
+    return findSupertypePropertyHandlers(type);
   }
 
-  protected void handleSetter(final Class<?> parameterType, final Element element, final String propertyName, final Object propertyValue,
-      final LitProperty annotation, final Object proxy, final Method method, final Object[] arguments) throws Exception {
-    if(!propertyTypeHandlers.containsKey(parameterType))
-      throw new LitModelMethodSignatureException(String.format(UNSUPPORTED_PARAMETER_TYPE_EXCEPTION_MESSAGE_FORMAT, annotation.getClass().getSimpleName(),
-          method.getName(), parameterType.getSimpleName()));
+  private LitPropertyHandlers findSupertypePropertyHandlers(final Class<?> type) {
+    final Deque<Class<?>> supertypes = new ArrayDeque<>();
+    final Set<Class<?>> visited = new HashSet<>();
+
+    addSupertypes(type, supertypes);
 
-    propertyTypeHandlers.get(parameterType)
-        .set(element, propertyName, propertyValue, annotation);
+    while(!supertypes.isEmpty()) {
+      final Class<?> supertype = supertypes.removeFirst();
+
+      if(!visited.add(supertype)) continue;
+
+      final LitPropertyHandlers propertyHandlers = propertyTypeHandlers.get(supertype);
+
+      if(propertyHandlers != null) return propertyHandlers;
+
+      addSupertypes(supertype, supertypes);
+    }
+
+    return null;
+  }
+
+  private static void addSupertypes(final Class<?> type, final Deque<Class<?>> supertypes) {
+    if(type.getSuperclass() != null) supertypes.addLast(type.getSuperclass());
+
+    for(final Class<?> interfaceType : type.getInterfaces()) {
+      supertypes.addLast(interfaceType);
+    }
+  }
+
+  protected LitModelMethodInvoker compileGetter(final Class<?> returnType, final String propertyName, final LitProperty annotation,
+      final Class<?> modelType, final Method method) {
+    final LitPropertyHandlers propertyHandlers = findPropertyHandlers(returnType);
+
+    if(propertyHandlers == null)
+      throw new LitModelMethodSignatureException(modelType, String.format(UNSUPPORTED_RETURN_TYPE_EXCEPTION_MESSAGE_FORMAT,
+          getAnnotationType().getSimpleName(), method.getName(), returnType.getSimpleName()));
+
+    final LitPropertyAccessor accessor = bind(propertyHandlers, returnType, propertyName, annotation, modelType, method);
+    final int cacheSlot = LitPropertyCache.slotOf(modelType, propertyName, returnType);
+
+    return new LitPropertyMethodInvoker.Getter(propertyName, returnType, accessor, propertyHandlers.isElementProperty(), cacheSlot);
+  }
+
+  protected LitModelMethodInvoker compileSetter(final Class<?> parameterType, final String propertyName, final LitProperty annotation,
+      final Class<?> modelType, final Method method) {
+    final LitPropertyHandlers propertyHandlers = findPropertyHandlers(parameterType);
+
+    if(propertyHandlers == null)
+      throw new LitModelMethodSignatureException(modelType, String.format(UNSUPPORTED_PARAMETER_TYPE_EXCEPTION_MESSAGE_FORMAT,
+          getAnnotationType().getSimpleName(), method.getName(), parameterType.getSimpleName()));
+
+    final LitPropertyAccessor accessor = bind(propertyHandlers, parameterType, propertyName, annotation, modelType, method);
+    final int cacheSlot = LitPropertyCache.slotOf(modelType, propertyName, parameterType);
+
+    return new LitPropertyMethodInvoker.Setter(propertyName, parameterType, accessor, propertyHandlers.isElementProperty(), cacheSlot);
   }
 
   // Overrides
@@ -90,23 +185,19 @@ public class LitPropertyAnnotationHandler extends BasicLitAnnotationHandler<LitP
   //
 
   @Override
-  protected final Object handle0(final LitProperty annotation, final Object proxy, final Method method, final Object[] arguments) throws Exception {
+  protected final LitModelMethodInvoker compile0(final LitProperty annotation, final Class<?> modelType, final Method method) {
     final Class<?> returnType = method.getReturnType();
 
     // TODO: Could abstract out the return types and methods that are called.
     //       This would offer further customization.
     if(returnType.equals(Void.TYPE)) {
       if(method.getParameterCount() < 1)
-        throw new LitModelMethodSignatureException(String.format(REQUIRED_PARAMETER_MISSING_EXCEPTION_MESSAGE_FORMAT, annotation.getClass().getSimpleName(),
-            method.getName()));
-
-      handleSetter(method.getParameterTypes()[0], LitModelProxyComponentRegistry.getInstance().get(proxy).getElement(), annotation.name(), arguments[0],
-          annotation, proxy, method, arguments);
+        throw new LitModelMethodSignatureException(modelType, String.format(REQUIRED_PARAMETER_MISSING_EXCEPTION_MESSAGE_FORMAT,
+            getAnnotationType().getSimpleName(), method.getName()));
 
-      return null;
+      return compileSetter(method.getParameterTypes()[0], annotation.name(), annotation, modelType, method);
     } else {
-      return handleGetter(returnType, LitModelProxyComponentRegistry.getInstance().get(proxy).getElement(), annotation.name(), annotation, proxy, method,
-          arguments);
+      return compileGetter(returnType, annotation.name(), annotation, modelType, method);
     }
   }
 
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.proxy.annotation;
+
+import com.oliveryasuna.commons.language.marker.Immutable;
+import com.oliveryasuna.vaadin.lit.model.jfr.LitPropertyGetEvent;
+import com.oliveryasuna.vaadin.lit.model.jfr.LitPropertySetEvent;
+import com.oliveryasuna.vaadin.lit.model.property.LitPropertyAccessor;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelBinding;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelMethodInvoker;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitModelTransaction;
+import com.oliveryasuna.vaadin.lit.model.proxy.LitPropertyCache;
+
+/**
+ * Invokes a {@link com.oliveryasuna.vaadin.lit.model.annotation.LitProperty} getter or setter, and exposes its {@link LitPropertyAccessor}.
+ */
+@Immutable
+public abstract class LitPropertyMethodInvoker implements LitModelMethodInvoker {
+
+  // Constructors
+  //--------------------------------------------------
+
+  private LitPropertyMethodInvoker(final String propertyName, final Class<?> propertyType, final LitPropertyAccessor accessor, final boolean elementProperty,
+      final int cacheSlot) {
+    super();
+
+    this.propertyName = propertyName;
+    this.propertyType = propertyType;
+    this.accessor = accessor;
+    this.elementProperty = elementProperty;
+    this.cacheSlot = cacheSlot;
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final String propertyName;
+
+  private final Class<?> propertyType;
+
+  private final LitPropertyAccessor accessor;
+
+  private final boolean elementProperty;
+
+  private final int cacheSlot;
+
+  // Methods
+  //--------------------------------------------------
+
+  public abstract boolean isGetter();
+
+  // Getters
+  //--------------------------------------------------
+
+  public final String getPropertyName() {
+    return propertyName;
+  }
+
+  public final Class<?> getPropertyType() {
+    return propertyType;
+  }
+
+  public final LitPropertyAccessor getAccessor() {
+    return accessor;
+  }
+
+  /**
+   * Whether the value is stored in the element's property map.
+   *
+   * @see com.oliveryasuna.vaadin.lit.model.property.LitPropertyHandlers#isElementProperty()
+   */
+  public final boolean isElementProperty() {
+    return elementProperty;
+  }
+
+  final int getCacheSlot() {
+    return cacheSlot;
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  static final class Getter extends LitPropertyMethodInvoker {
+
+    Getter(final String propertyName, final Class<?> propertyType, final LitPropertyAccessor accessor, final boolean elementProperty, final int cacheSlot) {
+      super(propertyName, propertyType, accessor, elementProperty, cacheSlot);
+    }
+
+    @Override
+    public boolean isGetter() {
+      return true;
+    }
+
+    @Override
+    public Object invoke(final LitModelBinding binding, final Object[] arguments) throws Exception {
+      final LitPropertyGetEvent event = new LitPropertyGetEvent();
+
+      event.begin();
+
+      final LitModelTransaction transaction = binding.getTransaction();
+
+      // Reads see the writes made earlier in the transaction.
+      if(transaction != null) transaction.flushProperty(getPropertyName());
+
+      final int cacheSlot = getCacheSlot();
+      final LitPropertyCache cache = (cacheSlot != LitPropertyCache.NO_SLOT ? binding.getPropertyCache() : null);
+      final boolean cached = (cache != null && cache.contains(cacheSlot, getPropertyType()));
+      final Object value;
+
+      if(cached) {
+        value = cache.get(cacheSlot);
+      } else {
+        value = getAccessor().get(binding.getElement());
+
+        // A default value was never sent, so it must not make a later write of the same value look redundant.
+        if(cache != null && binding.getElement().hasProperty(getPropertyName())) cache.put(cacheSlot, value);
+      }
+
+      if(event.shouldCommit()) {
+        event.componentClass = binding.getComponent().getClass();
+        event.propertyName = getPropertyName();
+        event.valueType = getPropertyType();
+        event.cached = cached;
+        event.commit();
+      }
+
+      return value;
+    }
+
+  }
+
+  static final class Setter extends LitPropertyMethodInvoker {
+
+    Setter(final String propertyName, final Class<?> propertyType, final LitPropertyAccessor accessor, final boolean elementProperty, final int cacheSlot) {
+      super(propertyName, propertyType, accessor, elementProperty, cacheSlot);
+    }
+
+    @Override
+    public boolean isGetter() {
+      return false;
+    }
+
+    @Override
+    public Object invoke(final LitModelBinding binding, final Object[] arguments) throws Exception {
+      final LitPropertySetEvent event = new LitPropertySetEvent();
+
+      event.begin();
+
+      final LitModelTransaction transaction = binding.getTransaction();
+      final Object value = arguments[0];
+
+      if(transaction != null) {
+        transaction.writeProperty(getPropertyName(), value, () -> set(binding, value));
+      } else {
+        set(binding, value);
+      }
+
+      if(event.shouldCommit()) {
+        event.componentClass = binding.getComponent().getClass();
+        event.propertyName = getPropertyName();
+        event.valueType = getPropertyType();
+        event.deferred = (transaction != null);
+        event.commit();
+      }
+
+      return null;
+    }
+
+    private void set(final LitModelBinding binding, final Object value) throws Exception {
+      final int cacheSlot = getCacheSlot();
+
+      if(cacheSlot == LitPropertyCache.NO_SLOT) {
+        getAccessor().set(binding.getElement(), value);
+
+        return;
+      }
+
+      final LitPropertyCache cache = binding.getPropertyCache();
+
+      // Unchanged values are not written.
+      if(cache.contains(cacheSlot, value)) return;
+
+      getAccessor().set(binding.getElement(), value);
+
+      cache.put(cacheSlot, value);
+    }
+
+  }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+/**
+ * Fetches the items of server-side `@LitDataSource`s on demand.
+ *
+ * Call `requestLitData(name, offset, limit)` whenever the visible window changes.
+ * Answers arrive through `litDataReceived(name, offset, items, size)`, where `offset` is the index of the first item (which may precede the requested
+ * offset if the data source prefetches), and answers to replaced requests are dropped.
+ * When the data changes, `litDataReset(name, size)` is called, and the visible window should be requested again.
+ *
+ * By default, both set the property `name` to `{offset, items, size}`.
+ *
+ * @param {typeof import('lit-element').LitElement} base The element class.
+ */
+export const LitDataSourceMixin = (base) => class extends base {
+
+  requestLitData(name, offset, limit) {
+    const requestIds = this.__litDataRequestIds || (this.__litDataRequestIds = {});
+    const requestId = requestIds[name] = (requestIds[name] || 0) + 1;
+
+    this.dispatchEvent(new CustomEvent('lit-data-request', {detail: {name, requestId, offset, limit}}));
+  }
+
+  receiveLitData(name, requestId, offset, items, size) {
+    // A later request has been sent.
+    if(!this.__litDataRequestIds || this.__litDataRequestIds[name] !== requestId) return;
+
+    this.litDataReceived(name, offset, items, size);
+  }
+
+  resetLitData(name, size) {
+    this.litDataReset(name, size);
+  }
+
+  litDataReceived(name, offset, items, size) {
+    this[name] = {offset, items, size};
+  }
+
+  litDataReset(name, size) {
+    this[name] = {offset: 0, items: [], size};
+  }
+
+};
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.proxy;
+
+import com.oliveryasuna.vaadin.lit.component.LitComponent;
+import com.oliveryasuna.vaadin.lit.model.LitModel;
+import com.oliveryasuna.vaadin.lit.model.annotation.LitFunction;
+import com.oliveryasuna.vaadin.lit.model.annotation.LitProperty;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.function.SerializableBiConsumer;
+import com.vaadin.flow.shared.Registration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/**
+ * Records the values that its asynchronous model writes to the {@code value} property.
+ */
+@Tag("async-test-component")
+final class AsyncTestComponent extends LitComponent<AsyncTestComponent.Model> {
+
+  // Constructors
+  //--------------------------------------------------
+
+  AsyncTestComponent(final int updatePriority) {
+    super();
+
+    this.updatePriority = updatePriority;
+
+    getElement().addPropertyChangeListener("value", event -> writtenValues.add(event.getValue()));
+  }
+
+  AsyncTestComponent() {
+    this(0);
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final int updatePriority;
+
+  private final List<Object> writtenValues = new ArrayList<>();
+
+  // Methods
+  //--------------------------------------------------
+
+  Model async() {
+    return getAsyncModel();
+  }
+
+  <T> Registration bindValues(final Flow.Publisher<? extends T> publisher, final SerializableBiConsumer<? super Model, ? super T> setter) {
+    return bind(publisher, setter);
+  }
+
+  @Override
+  protected int getUpdatePriority() {
+    return updatePriority;
+  }
+
+  // Getters
+  //--------------------------------------------------
+
+  List<Object> getWrittenValues() {
+    return writtenValues;
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  public interface Model extends LitModel {
+
+    @LitProperty(name = "value", defaultValue = "0")
+    void setValue(int value);
+
+    @LitFunction(name = "refresh")
+    void refresh();
+
+  }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.proxy;
+
+import com.oliveryasuna.vaadin.lit.exception.LitModelException;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LitPublisherSubscriberTest {
+
+  // Fields
+  //--------------------------------------------------
+
+  private UI ui;
+
+  private ManualAccessSession session;
+
+  private AsyncTestComponent component;
+
+  private TestPublisher publisher;
+
+  // Methods
+  //--------------------------------------------------
+
+  @BeforeEach
+  void setUp() {
+    ui = ManualAccessSession.createUI();
+    session = ManualAccessSession.of(ui);
+    component = new AsyncTestComponent();
+    publisher = new TestPublisher();
+
+    LitUpdateScheduler.get(ui).setTickInterval(0L);
+    ui.add(component);
+    component.bindValues(publisher, AsyncTestComponent.Model::setValue);
+  }
+
+  @AfterEach
+  void tearDown() {
+    CurrentInstance.clearAll();
+  }
+
+  @Test
+  void requestsOneValueOnSubscribe() {
+    assertEquals(1L, publisher.requested);
+  }
+
+  @Test
+  void withholdsDemandWhileAFlushIsInFlight() {
+    publisher.subscriber.onNext(1);
+
+    // One more value may replace the first before the flush.
+    assertEquals(2L, publisher.requested);
+
+    publisher.subscriber.onNext(2);
+
+    assertEquals(2L, publisher.requested);
+    assertEquals(1, session.getPendingAccessCount());
+
+    session.runPendingAccesses();
+
+    assertEquals(List.of(2.0), component.getWrittenValues());
+    assertEquals(3L, publisher.requested);
+  }
+
+  @Test
+  void keepsDemandWhenTheFlushRunsFirst() {
+    publisher.subscriber.onNext(1);
+    session.runPendingAccesses();
+
+    assertEquals(2L, publisher.requested);
+
+    publisher.subscriber.onNext(2);
+
+    assertEquals(3L, publisher.requested);
+
+    session.runPendingAccesses();
+
+    assertEquals(List.of(1.0, 2.0), component.getWrittenValues());
+  }
+
+  @Test
+  void reportsErrorsAfterTheValuesBeforeThem() {
+    final RuntimeException failure = new RuntimeException();
+
+    publisher.subscriber.onNext(1);
+    publisher.subscriber.onError(failure);
+
+    assertTrue(session.getErrors().isEmpty());
+
+    session.runPendingAccesses();
+
+    assertEquals(List.of(1.0), component.getWrittenValues());
+    assertEquals(1, session.getErrors().size());
+    assertInstanceOf(LitModelException.class, session.getErrors().get(0).getThrowable());
+    assertSame(failure, session.getErrors().get(0).getThrowable().getCause());
+  }
+
+  @Test
+  void cancelsWhenTheComponentIsDetached() {
+    ui.remove(component);
+
+    assertTrue(publisher.cancelled);
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * Records demand, and lets the test send the values.
+   */
+  private static final class TestPublisher implements Flow.Publisher<Integer> {
+
+    private Flow.Subscriber<? super Integer> subscriber;
+
+    private long requested;
+
+    private boolean cancelled;
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super Integer> subscriber) {
+      this.subscriber = subscriber;
+
+      subscriber.onSubscribe(new Flow.Subscription() {
+        @Override
+        public void request(final long n) {
+          requested += n;
+        }
+
+        @Override
+        public void cancel() {
+          cancelled = true;
+        }
+      });
+    }
+
+  }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.proxy;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LitUpdateSchedulerTest {
+
+  // Fields
+  //--------------------------------------------------
+
+  private UI ui;
+
+  private ManualAccessSession session;
+
+  private LitUpdateScheduler scheduler;
+
+  // Methods
+  //--------------------------------------------------
+
+  @BeforeEach
+  void setUp() {
+    ui = ManualAccessSession.createUI();
+    session = ManualAccessSession.of(ui);
+    scheduler = LitUpdateScheduler.get(ui);
+
+    // Every request is made to the session right away, and ticks run when the test runs the accesses.
+    scheduler.setTickInterval(0L);
+  }
+
+  @AfterEach
+  void tearDown() {
+    CurrentInstance.clearAll();
+  }
+
+  private AsyncTestComponent attach(final int updatePriority, final List<AsyncTestComponent> flushes) {
+    final AsyncTestComponent component = new AsyncTestComponent(updatePriority);
+
+    ui.add(component);
+    component.getElement().addPropertyChangeListener("value", event -> flushes.add(component));
+
+    return component;
+  }
+
+  @Test
+  void flushesAllRequestsInOneAccess() {
+    final List<AsyncTestComponent> flushes = new ArrayList<>();
+    final AsyncTestComponent first = attach(0, flushes);
+    final AsyncTestComponent second = attach(0, flushes);
+
+    first.async().setValue(1);
+    second.async().setValue(2);
+
+    assertEquals(1, session.getPendingAccessCount());
+    assertTrue(flushes.isEmpty());
+
+    session.runPendingAccesses();
+
+    assertEquals(List.of(first, second), flushes);
+    assertEquals(0, session.getPendingAccessCount());
+  }
+
+  @Test
+  void flushesHigherPrioritiesFirst() {
+    final List<AsyncTestComponent> flushes = new ArrayList<>();
+    final AsyncTestComponent low = attach(0, flushes);
+    final AsyncTestComponent high = attach(5, flushes);
+    final AsyncTestComponent middle = attach(1, flushes);
+
+    scheduler.setMaxFlushesPerTick(1);
+
+    low.async().setValue(1);
+    high.async().setValue(1);
+    middle.async().setValue(1);
+
+    session.runPendingAccesses();
+
+    assertEquals(List.of(high), flushes);
+
+    session.runPendingAccesses();
+    session.runPendingAccesses();
+
+    assertEquals(List.of(high, middle, low), flushes);
+    assertEquals(0, session.getPendingAccessCount());
+  }
+
+  @Test
+  void agesRequestsThatWait() {
+    final List<AsyncTestComponent> flushes = new ArrayList<>();
+    final AsyncTestComponent low = attach(0, flushes);
+    final AsyncTestComponent high = attach(2, flushes);
+
+    scheduler.setMaxFlushesPerTick(1);
+
+    low.async().setValue(1);
+
+    for(int i = 1; i <= 3; i++) {
+      high.async().setValue(i);
+      session.runPendingAccesses();
+    }
+
+    // The low priority request waited two ticks, which brought it level with the high priority one, and it was made first.
+    assertEquals(List.of(high, high, low), flushes);
+  }
+
+  @Test
+  void dropsRequestsWhenTheUIIsDetached() {
+    final AsyncTestComponent component = new AsyncTestComponent();
+
+    ui.add(component);
+    session.setDetached(true);
+
+    component.async().setValue(1);
+
+    assertEquals(0, session.getPendingAccessCount());
+
+    session.setDetached(false);
+
+    // The binding was told that its request was dropped, so it requests again.
+    component.async().setValue(2);
+
+    assertEquals(1, session.getPendingAccessCount());
+
+    session.runPendingAccesses();
+
+    assertEquals(List.of(2.0), component.getWrittenValues());
+  }
+
+  @Test
+  void mergesWritesToAProperty() {
+    final AsyncTestComponent component = new AsyncTestComponent();
+
+    ui.add(component);
+
+    component.async().setValue(1);
+    component.async().setValue(2);
+    component.async().setValue(3);
+
+    session.runPendingAccesses();
+
+    assertEquals(List.of(3.0), component.getWrittenValues());
+  }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.model.proxy;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.server.DefaultDeploymentConfiguration;
+import com.vaadin.flow.server.ErrorEvent;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinServlet;
+import com.vaadin.flow.server.VaadinServletService;
+import com.vaadin.flow.server.VaadinSession;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * A session that is always locked by the calling thread, and whose accesses run when the test runs them.
+ */
+final class ManualAccessSession extends VaadinSession {
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Creates a UI with a new session, and makes both current.
+   */
+  static UI createUI() {
+    final Properties properties = new Properties();
+
+    properties.setProperty("productionMode", "true");
+
+    final DeploymentConfiguration configuration = new DefaultDeploymentConfiguration(ManualAccessSession.class, properties);
+    final VaadinService service = new VaadinServletService(new VaadinServlet(), configuration);
+    final ManualAccessSession session = new ManualAccessSession(service);
+    final UI ui = new UI();
+
+    VaadinService.setCurrent(service);
+    VaadinSession.setCurrent(session);
+    ui.getInternals().setSession(session);
+    UI.setCurrent(ui);
+
+    return ui;
+  }
+
+  static ManualAccessSession of(final UI ui) {
+    return (ManualAccessSession)ui.getSession();
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private ManualAccessSession(final VaadinService service) {
+    super(service);
+
+    setErrorHandler(errors::add);
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Queue<Command> accesses = new ArrayDeque<>();
+
+  private final List<ErrorEvent> errors = new ArrayList<>();
+
+  /**
+   * Whether accesses fail as if the UI were detached.
+   */
+  private boolean detached;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Runs the accesses that are pending now, but not the ones that they request.
+   *
+   * @return The number of accesses that ran.
+   */
+  int runPendingAccesses() {
+    final int count = accesses.size();
+
+    for(int i = 0; i < count; i++) {
+      accesses.remove().execute();
+    }
+
+    return count;
+  }
+
+  int getPendingAccessCount() {
+    return accesses.size();
+  }
+
+  List<ErrorEvent> getErrors() {
+    return errors;
+  }
+
+  void setDetached(final boolean detached) {
+    this.detached = detached;
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // VaadinSession
+  //
+
+  @Override
+  public Future<Void> access(final Command command) {
+    if(detached) throw new UIDetachedException();
+
+    accesses.add(command);
+
+    return CompletableFuture.completedFuture(null);
+  }
+
+  @Override
+  public boolean hasLock() {
+    return true;
+  }
+
+  @Override
+  public void checkHasLock() {
+  }
+
+  @Override
+  public void checkHasLock(final String message) {
+  }
+
+  @Override
+  public void lock() {
+  }
+
+  @Override
+  public void unlock() {
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.benchmarks;
+
+import com.oliveryasuna.vaadin.lit.component.LitComponent;
+import com.oliveryasuna.vaadin.lit.model.factory.GeneratedLitModelFactory;
+import com.oliveryasuna.vaadin.lit.model.factory.LitModelFactory;
+import com.oliveryasuna.vaadin.lit.model.factory.PrecompiledLitModelFactory;
+import com.oliveryasuna.vaadin.lit.model.factory.ProxyLitModelFactory;
+import com.vaadin.flow.component.Tag;
+
+/**
+ * A component of {@link BenchmarkModel}.
+ *
+ * @param <M> The type of the model.
+ */
+public abstract class BenchmarkComponent<M extends BenchmarkModel> extends LitComponent<M> {
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Creates a component.
+   *
+   * @param factory One of {@code proxy}, {@code generated}, {@code precompiled} and {@code cached}.
+   * @return The component.
+   */
+  public static BenchmarkComponent<?> create(final String factory) {
+    switch(factory) {
+      case "proxy":
+        return new Proxy();
+      case "generated":
+        return new Generated();
+      case "precompiled":
+        return new Precompiled();
+      case "cached":
+        return new Cached();
+      default:
+        throw new IllegalArgumentException("Unknown factory [" + factory + "].");
+    }
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  protected BenchmarkComponent(final LitModelFactory modelFactory) {
+    super(modelFactory);
+  }
+
+  // Getters
+  //--------------------------------------------------
+
+  public final M model() {
+    return getModel();
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  @Tag("benchmark-proxy")
+  public static final class Proxy extends BenchmarkComponent<BenchmarkModel> {
+
+    public Proxy() {
+      super(ProxyLitModelFactory.getInstance());
+    }
+
+  }
+
+  @Tag("benchmark-generated")
+  public static final class Generated extends BenchmarkComponent<BenchmarkModel> {
+
+    public Generated() {
+      super(GeneratedLitModelFactory.getInstance());
+    }
+
+  }
+
+  @Tag("benchmark-precompiled")
+  public static final class Precompiled extends BenchmarkComponent<BenchmarkModel> {
+
+    public Precompiled() {
+      super(PrecompiledLitModelFactory.getInstance());
+    }
+
+  }
+
+  @Tag("benchmark-cached")
+  public static final class Cached extends BenchmarkComponent<CachedBenchmarkModel> {
+
+    public Cached() {
+      super(ProxyLitModelFactory.getInstance());
+    }
+
+  }
+
+}
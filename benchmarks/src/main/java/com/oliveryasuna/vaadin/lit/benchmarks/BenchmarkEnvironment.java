@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.benchmarks;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.server.DefaultDeploymentConfiguration;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinServlet;
+import com.vaadin.flow.server.VaadinServletService;
+import com.vaadin.flow.server.VaadinSession;
+
+import java.util.Properties;
+
+/**
+ * An in-memory Vaadin environment, without a servlet container or browser.
+ */
+public final class BenchmarkEnvironment {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final VaadinService SERVICE = createService();
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static VaadinService createService() {
+    final Properties properties = new Properties();
+
+    properties.setProperty("productionMode", Boolean.TRUE.toString());
+
+    return new VaadinServletService(new VaadinServlet(), new DefaultDeploymentConfiguration(BenchmarkEnvironment.class, properties));
+  }
+
+  /**
+   * Makes the service current for the calling thread.
+   * <p>
+   * {@link com.vaadin.flow.component.littemplate.LitTemplate}s cannot be created without one.
+   */
+  public static void install() {
+    VaadinService.setCurrent(SERVICE);
+  }
+
+  /**
+   * Creates a UI in its own session.
+   *
+   * @return The UI.
+   */
+  public static UI createUI() {
+    install();
+
+    final UI ui = new UI();
+
+    ui.getInternals().setSession(new BenchmarkSession());
+
+    return ui;
+  }
+
+  /**
+   * Does what a client round trip would do with the pending changes of a UI, and discards them.
+   * <p>
+   * Without this, benchmarks that call JavaScript functions would grow the pending invocations without bound.
+   *
+   * @param ui The UI.
+   */
+  public static void flush(final UI ui) {
+    final StateTree stateTree = ui.getInternals().getStateTree();
+
+    stateTree.runExecutionsBeforeClientResponse();
+    ui.getInternals().dumpPendingJavaScriptInvocations();
+    stateTree.collectChanges(change -> {
+    });
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private BenchmarkEnvironment() {
+    super();
+
+    throw new UnsupportedOperationException();
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * A session that is always locked by the current thread.
+   * <p>
+   * Each benchmark thread has its own sessions, so there is nothing to lock against.
+   */
+  private static final class BenchmarkSession extends VaadinSession {
+
+    private BenchmarkSession() {
+      super(SERVICE);
+    }
+
+    @Override
+    public boolean hasLock() {
+      return true;
+    }
+
+    @Override
+    public void checkHasLock() {
+    }
+
+  }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.benchmarks;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link com.oliveryasuna.vaadin.lit.model.annotation.LitFunction} dispatch, against {@link Element#callJsFunction(String, java.io.Serializable...)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FunctionBenchmark {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final int FLUSH_INTERVAL = 1024;
+
+  // Fields
+  //--------------------------------------------------
+
+  @Param({"proxy", "generated", "precompiled"})
+  private String factory;
+
+  private UI ui;
+
+  private Element element;
+
+  private BenchmarkModel model;
+
+  private int counter;
+
+  // Methods
+  //--------------------------------------------------
+
+  @Setup
+  public void setUp() {
+    ui = BenchmarkEnvironment.createUI();
+
+    final BenchmarkComponent<?> component = BenchmarkComponent.create(factory);
+
+    ui.add(component);
+
+    element = component.getElement();
+    model = component.model();
+  }
+
+  @Benchmark
+  public void elementCallJsFunction() {
+    element.callJsFunction("update", ++counter, "text");
+
+    flushPeriodically();
+  }
+
+  @Benchmark
+  public void update() {
+    model.update(++counter, "text");
+
+    flushPeriodically();
+  }
+
+  private void flushPeriodically() {
+    if((counter % FLUSH_INTERVAL) == 0) BenchmarkEnvironment.flush(ui);
+  }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.benchmarks;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures model getters and setters of each built-in property type, against the equivalent {@link Element} calls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PropertyBenchmark {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String[] TEXTS = {"a", "b"};
+
+  // Fields
+  //--------------------------------------------------
+
+  @Param({"proxy", "generated", "precompiled", "cached"})
+  private String factory;
+
+  private UI ui;
+
+  private Element element;
+
+  private BenchmarkModel model;
+
+  private int counter;
+
+  // Methods
+  //--------------------------------------------------
+
+  @Setup
+  public void setUp() {
+    ui = BenchmarkEnvironment.createUI();
+
+    final BenchmarkComponent<?> component = BenchmarkComponent.create(factory);
+
+    ui.add(component);
+
+    element = component.getElement();
+    model = component.model();
+
+    // Fills the properties, so that getters do not measure defaults.
+    model.setText("text");
+    model.setFlag(true);
+    model.setCount(1);
+    model.setProgress(0.5);
+    model.setTimestamp(1L);
+  }
+
+  @TearDown(Level.Iteration)
+  public void flush() {
+    BenchmarkEnvironment.flush(ui);
+  }
+
+  // Baseline
+
+  @Benchmark
+  public int elementGetCount() {
+    return element.getProperty("count", 0);
+  }
+
+  @Benchmark
+  public void elementSetCount() {
+    element.setProperty("count", ++counter);
+  }
+
+  // String
+
+  @Benchmark
+  public String getText() {
+    return model.getText();
+  }
+
+  @Benchmark
+  public void setText() {
+    model.setText(TEXTS[++counter & 1]);
+  }
+
+  // boolean
+
+  @Benchmark
+  public boolean getFlag() {
+    return model.getFlag();
+  }
+
+  @Benchmark
+  public void setFlag() {
+    model.setFlag((++counter & 1) == 0);
+  }
+
+  // int
+
+  @Benchmark
+  public int getCount() {
+    return model.getCount();
+  }
+
+  @Benchmark
+  public void setCount() {
+    model.setCount(++counter);
+  }
+
+  @Benchmark
+  public void setCountUnchanged() {
+    model.setCount(1);
+  }
+
+  // double
+
+  @Benchmark
+  public double getProgress() {
+    return model.getProgress();
+  }
+
+  @Benchmark
+  public void setProgress() {
+    model.setProgress(++counter);
+  }
+
+  // long
+
+  @Benchmark
+  public long getTimestamp() {
+    return model.getTimestamp();
+  }
+
+  @Benchmark
+  public void setTimestamp() {
+    model.setTimestamp(++counter);
+  }
+
+}
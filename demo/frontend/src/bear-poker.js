@@ -47,6 +47,7 @@ let BearPokerElement = class BearPokerElement extends LitElement {
         else {
             this.text = 'You can\'t poke the bear from the grave!';
         }
+        this.dispatchEvent(new CustomEvent('poke-count-changed'));
     }
 };
 __decorate([
@@ -45,6 +45,8 @@ export class BearPokerElement extends LitElement {
     } else {
       this.text = 'You can\'t poke the bear from the grave!';
     }
+
+    this.dispatchEvent(new CustomEvent('poke-count-changed'));
   }
 
 }
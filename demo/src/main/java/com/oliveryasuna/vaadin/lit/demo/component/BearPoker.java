@@ -39,7 +39,7 @@ public final class BearPoker extends LitComponent<BearPoker.BearPokerModel> {
     @LitProperty(name = "text", defaultValue = "", nullDefaultValue = true)
     void setText(String text);
 
-    @LitProperty(name = "pokeCount", defaultValue = "0")
+    @LitProperty(name = "pokeCount", defaultValue = "0", syncEvent = "poke-count-changed")
     int getPokeCount();
 
     @LitFunction(name = "pokeIt")
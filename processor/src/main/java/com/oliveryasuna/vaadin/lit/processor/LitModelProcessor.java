@@ -0,0 +1,492 @@
+/*
+ * Copyright 2022 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.lit.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Generates an implementation for each {@code LitModel} type at compile time.
+ */
+@SupportedAnnotationTypes({LitModelProcessor.LIT_PROPERTY_TYPE_NAME, LitModelProcessor.LIT_FUNCTION_TYPE_NAME, LitModelProcessor.LIT_DATA_SOURCE_TYPE_NAME})
+public class LitModelProcessor extends AbstractProcessor {
+
+  // Static fields
+  //--------------------------------------------------
+
+  static final String LIT_MODEL_TYPE_NAME = "com.oliveryasuna.vaadin.lit.model.LitModel";
+
+  static final String LIT_PROPERTY_TYPE_NAME = "com.oliveryasuna.vaadin.lit.model.annotation.LitProperty";
+
+  static final String LIT_FUNCTION_TYPE_NAME = "com.oliveryasuna.vaadin.lit.model.annotation.LitFunction";
+
+  static final String LIT_DATA_SOURCE_TYPE_NAME = "com.oliveryasuna.vaadin.lit.model.annotation.LitDataSource";
+
+  /**
+   * Must match {@code PrecompiledLitModelFactory}.
+   */
+  static final String GENERATED_CLASS_NAME_PREFIX = "LitModel_";
+
+  private static final String ELEMENT_TYPE_NAME = "com.vaadin.flow.dom.Element";
+
+  private static final String PENDING_JAVA_SCRIPT_RESULT_TYPE_NAME = "com.vaadin.flow.component.page.PendingJavaScriptResult";
+
+  private static final String COMPLETABLE_FUTURE_TYPE_NAME = "java.util.concurrent.CompletableFuture";
+
+  private static final String LIT_FUNCTION_RESULTS_TYPE_NAME = "com.oliveryasuna.vaadin.lit.model.function.LitFunctionResults";
+
+  private static final String LIT_PROPERTY_EVENTS_TYPE_NAME = "com.oliveryasuna.vaadin.lit.model.jfr.LitPropertyEvents";
+
+  private static final String LIT_PROPERTY_GET_EVENT_TYPE_NAME = "com.oliveryasuna.vaadin.lit.model.jfr.LitPropertyGetEvent";
+
+  private static final String LIT_PROPERTY_SET_EVENT_TYPE_NAME = "com.oliveryasuna.vaadin.lit.model.jfr.LitPropertySetEvent";
+
+  private static final Set<String> PROPERTY_TYPE_NAMES = Set.of("java.lang.String", "boolean", "int", "double", "long");
+
+  // Constructors
+  //--------------------------------------------------
+
+  public LitModelProcessor() {
+    super();
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Set<String> processedModelTypes = new HashSet<>();
+
+  private Elements elements;
+
+  private Types types;
+
+  private Messager messager;
+
+  private Filer filer;
+
+  // Methods
+  //--------------------------------------------------
+
+  private void processModelType(final TypeElement modelType) {
+    if(modelType.getKind() != ElementKind.INTERFACE) {
+      error(modelType, "Lit annotations are only supported on model interfaces.");
+      return;
+    }
+
+    final TypeElement litModelType = elements.getTypeElement(LIT_MODEL_TYPE_NAME);
+
+    if(litModelType != null && !types.isAssignable(types.erasure(modelType.asType()), litModelType.asType())) {
+      error(modelType, "Model type [%s] does not extend [%s].", modelType.getSimpleName(), litModelType.getSimpleName());
+      return;
+    }
+
+    if(!modelType.getTypeParameters().isEmpty()) {
+      note(modelType, "Generic model type [%s] is not precompiled.", modelType.getSimpleName());
+      return;
+    }
+
+    if(isPrivate(modelType)) {
+      note(modelType, "Private model type [%s] is not precompiled.", modelType.getSimpleName());
+      return;
+    }
+
+    // Dispatch policies keep per-component state, which only the binding has.
+    if(hasDispatchedFunction(modelType)) {
+      note(modelType, "Model type [%s] has functions that are not dispatched immediately, so it is not precompiled.", modelType.getSimpleName());
+      return;
+    }
+
+    // Data sources keep per-component state.
+    if(hasDataSource(modelType)) {
+      note(modelType, "Model type [%s] has data sources, so it is not precompiled.", modelType.getSimpleName());
+      return;
+    }
+
+    // JSON-like properties keep per-component state, and their types are resolved at runtime.
+    if(hasRuntimeResolvedProperty(modelType)) {
+      note(modelType, "Model type [%s] has properties of types that are resolved at runtime, so it is not precompiled.", modelType.getSimpleName());
+      return;
+    }
+
+    final List<String> methodSources = new ArrayList<>();
+    boolean valid = true;
+
+    for(final ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(modelType))) {
+      if(!method.getModifiers().contains(Modifier.ABSTRACT)) continue;
+
+      final String methodSource = generateMethod(method);
+
+      if(methodSource == null) {
+        valid = false;
+      } else {
+        methodSources.add(methodSource);
+      }
+    }
+
+    if(valid) writeModelImplementation(modelType, methodSources);
+  }
+
+  private boolean hasDispatchedFunction(final TypeElement modelType) {
+    for(final ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(modelType))) {
+      final AnnotationMirror function = findAnnotation(method, LIT_FUNCTION_TYPE_NAME);
+
+      if(function != null && !String.valueOf(value(function, "dispatch")).equals("IMMEDIATE")) return true;
+    }
+
+    return false;
+  }
+
+  private boolean hasDataSource(final TypeElement modelType) {
+    for(final ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(modelType))) {
+      if(findAnnotation(method, LIT_DATA_SOURCE_TYPE_NAME) != null) return true;
+    }
+
+    return false;
+  }
+
+  private boolean hasRuntimeResolvedProperty(final TypeElement modelType) {
+    for(final ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(modelType))) {
+      if(findAnnotation(method, LIT_PROPERTY_TYPE_NAME) == null) continue;
+
+      final TypeMirror type = (method.getReturnType().getKind() == TypeKind.VOID
+          ? (method.getParameters().isEmpty() ? null : method.getParameters().get(0).asType())
+          : method.getReturnType());
+
+      if(type != null && !PROPERTY_TYPE_NAMES.contains(type.toString())) return true;
+    }
+
+    return false;
+  }
+
+  private String generateMethod(final ExecutableElement method) {
+    final AnnotationMirror property = findAnnotation(method, LIT_PROPERTY_TYPE_NAME);
+    final AnnotationMirror function = findAnnotation(method, LIT_FUNCTION_TYPE_NAME);
+
+    if(property != null && function != null) {
+      error(method, "Model method [%s] cannot be both a property and a function.", method.getSimpleName());
+      return null;
+    }
+
+    if(property != null) return generatePropertyMethod(method, property);
+    if(function != null) return generateFunctionMethod(method, function);
+
+    error(method, "Model method [%s] is not annotated with a Lit annotation.", method.getSimpleName());
+
+    return null;
+  }
+
+  private String generatePropertyMethod(final ExecutableElement method, final AnnotationMirror annotation) {
+    final String name = stringValue(annotation, "name");
+    final String defaultValue = stringValue(annotation, "defaultValue");
+    final boolean nullDefaultValue = booleanValue(annotation, "nullDefaultValue");
+
+    final String body;
+
+    if(method.getReturnType().getKind() == TypeKind.VOID) {
+      if(method.getParameters().isEmpty()) {
+        error(method, "Annotated [LitProperty] model method [%s] is missing a parameter.", method.getSimpleName());
+        return null;
+      }
+
+      final VariableElement parameter = method.getParameters().get(0);
+      final String typeName = parameter.asType().toString();
+
+      if(!PROPERTY_TYPE_NAMES.contains(typeName)) {
+        error(parameter, "Annotated [LitProperty] model method [%s] does not support the parameter type [%s].", method.getSimpleName(), typeName);
+        return null;
+      }
+
+      // Names end with '$' so that they cannot clash with the parameter.
+      body = "final " + LIT_PROPERTY_SET_EVENT_TYPE_NAME + " event$ = " + LIT_PROPERTY_EVENTS_TYPE_NAME + ".beginSet();\n"
+          + "    this.element.setProperty(" + literal(name) + ", " + parameter.getSimpleName() + ");\n"
+          + "    " + LIT_PROPERTY_EVENTS_TYPE_NAME + ".commitSet(event$, this.element, " + literal(name) + ", " + typeName + ".class);";
+    } else {
+      final String typeName = method.getReturnType().toString();
+
+      if(!PROPERTY_TYPE_NAMES.contains(typeName)) {
+        error(method, "Annotated [LitProperty] model method [%s] does not support the return type [%s].", method.getSimpleName(), typeName);
+        return null;
+      }
+
+      final String defaultValueSource = defaultValueLiteral(method, typeName, defaultValue);
+
+      if(defaultValueSource == null) return null;
+
+      final String value;
+
+      if(typeName.equals("java.lang.String") && nullDefaultValue) {
+        value = "this.element.getProperty(" + literal(name) + ")";
+      } else if(typeName.equals("long")) {
+        // Element has no long overload.
+        value = "(long)this.element.getProperty(" + literal(name) + ", (double)" + defaultValueSource + ")";
+      } else {
+        value = "this.element.getProperty(" + literal(name) + ", " + defaultValueSource + ")";
+      }
+
+      body = "final " + LIT_PROPERTY_GET_EVENT_TYPE_NAME + " event$ = " + LIT_PROPERTY_EVENTS_TYPE_NAME + ".beginGet();\n"
+          + "    final " + typeName + " value$ = " + value + ";\n"
+          + "    " + LIT_PROPERTY_EVENTS_TYPE_NAME + ".commitGet(event$, this.element, " + literal(name) + ", " + typeName + ".class);\n"
+          + "    return value$;";
+    }
+
+    return methodSource(method, body);
+  }
+
+  private String generateFunctionMethod(final ExecutableElement method, final AnnotationMirror annotation) {
+    final TypeElement serializableType = elements.getTypeElement("java.io.Serializable");
+    final StringJoiner arguments = new StringJoiner(", ", "new java.io.Serializable[] {", "}");
+
+    for(final VariableElement parameter : method.getParameters()) {
+      final TypeMirror parameterType = parameter.asType();
+
+      if(!parameterType.getKind().isPrimitive() && !types.isAssignable(parameterType, serializableType.asType())) {
+        error(parameter, "Annotated [LitFunction] model method [%s] does not support the parameter type [%s].", method.getSimpleName(), parameterType);
+        return null;
+      }
+
+      arguments.add(parameter.getSimpleName());
+    }
+
+    // Arguments are passed as an explicit array, so that a single array argument is not spread.
+    final String call = "this.element.callJsFunction(" + literal(stringValue(annotation, "name")) + ", " + arguments + ")";
+    final TypeMirror returnType = method.getReturnType();
+
+    if(returnType.getKind() == TypeKind.VOID) return methodSource(method, call + ";");
+
+    if(returnType.getKind().isPrimitive()) {
+      error(method, "Annotated [LitFunction] model method [%s] does not support the return type [%s].", method.getSimpleName(), returnType);
+      return null;
+    }
+
+    if(returnType.toString().equals(PENDING_JAVA_SCRIPT_RESULT_TYPE_NAME)) return methodSource(method, "return " + call + ";");
+
+    if(isFutureType(returnType)) {
+      return methodSource(method, "return " + LIT_FUNCTION_RESULTS_TYPE_NAME + ".toCompletableFuture(" + call + ", " + futureValueTypeName(returnType)
+          + ".class, " + value(annotation, "timeout") + "L, this.element);");
+    }
+
+    return methodSource(method, call + ";\n    return null;");
+  }
+
+  /**
+   * Must match {@code LitFunctionResults.isFutureType}.
+   */
+  private boolean isFutureType(final TypeMirror returnType) {
+    final TypeMirror erasure = types.erasure(returnType);
+
+    return (!erasure.toString().equals("java.lang.Object")
+        && types.isAssignable(types.erasure(elements.getTypeElement(COMPLETABLE_FUTURE_TYPE_NAME).asType()), erasure));
+  }
+
+  private String futureValueTypeName(final TypeMirror returnType) {
+    final List<? extends TypeMirror> typeArguments = ((DeclaredType)returnType).getTypeArguments();
+
+    if(typeArguments.isEmpty()) return "java.lang.Object";
+
+    final TypeMirror valueType = typeArguments.get(0);
+
+    if(valueType.getKind() != TypeKind.DECLARED && valueType.getKind() != TypeKind.ARRAY) return "java.lang.Object";
+
+    return types.erasure(valueType).toString();
+  }
+
+  private String defaultValueLiteral(final ExecutableElement method, final String typeName, final String defaultValue) {
+    try {
+      switch(typeName) {
+        case "boolean":
+          // Must match BooleanPropertyHandlers, which rejects anything other than true and false.
+          if(!defaultValue.equalsIgnoreCase("true") && !defaultValue.equalsIgnoreCase("false")) throw new NumberFormatException(defaultValue);
+
+          return defaultValue.toLowerCase(Locale.ROOT);
+        case "int":
+          return Integer.toString(Integer.parseInt(defaultValue));
+        case "long":
+          return Long.parseLong(defaultValue) + "L";
+        case "double":
+          final double value = Double.parseDouble(defaultValue);
+
+          if(Double.isNaN(value)) return "java.lang.Double.NaN";
+          if(Double.isInfinite(value)) return (value > 0 ? "java.lang.Double.POSITIVE_INFINITY" : "java.lang.Double.NEGATIVE_INFINITY");
+
+          return Double.toString(value);
+        default:
+          return literal(defaultValue);
+      }
+    } catch(final NumberFormatException e) {
+      error(method, "Annotated [LitProperty] model method [%s] has an invalid default value [%s] for type [%s].", method.getSimpleName(), defaultValue,
+          typeName);
+
+      return null;
+    }
+  }
+
+  private String methodSource(final ExecutableElement method, final String body) {
+    final StringBuilder source = new StringBuilder();
+
+    source.append("  @Override\n")
+        .append("  public ").append(method.getReturnType()).append(' ').append(method.getSimpleName()).append('(');
+
+    final List<? extends VariableElement> parameters = method.getParameters();
+
+    for(int i = 0; i < parameters.size(); i++) {
+      if(i > 0) source.append(", ");
+
+      source.append("final ").append(parameters.get(i).asType()).append(' ').append(parameters.get(i).getSimpleName());
+    }
+
+    return source.append(") {\n")
+        .append("    ").append(body).append('\n')
+        .append("  }\n")
+        .toString();
+  }
+
+  private void writeModelImplementation(final TypeElement modelType, final List<String> methodSources) {
+    final String packageName = elements.getPackageOf(modelType).getQualifiedName().toString();
+    final String simpleName = GENERATED_CLASS_NAME_PREFIX + flatName(modelType);
+    final String qualifiedName = (packageName.isEmpty() ? simpleName : packageName + "." + simpleName);
+
+    try(final Writer writer = filer.createSourceFile(qualifiedName, modelType).openWriter()) {
+      if(!packageName.isEmpty()) writer.write("package " + packageName + ";\n\n");
+
+      writer.write("@javax.annotation.processing.Generated(\"" + LitModelProcessor.class.getName() + "\")\n");
+      writer.write("public final class " + simpleName + " implements " + modelType.getQualifiedName() + " {\n\n");
+      writer.write("  private final " + ELEMENT_TYPE_NAME + " element;\n\n");
+      writer.write("  public " + simpleName + "(final " + ELEMENT_TYPE_NAME + " element) {\n");
+      writer.write("    this.element = element;\n");
+      writer.write("  }\n");
+
+      for(final String methodSource : methodSources) {
+        writer.write("\n");
+        writer.write(methodSource);
+      }
+
+      writer.write("\n}\n");
+    } catch(final IOException e) {
+      error(modelType, "Could not write the implementation of model type [%s]: %s", modelType.getSimpleName(), e.getMessage());
+    }
+  }
+
+  private String flatName(final TypeElement type) {
+    final Element enclosingElement = type.getEnclosingElement();
+
+    if(enclosingElement instanceof TypeElement) return flatName((TypeElement)enclosingElement) + "_" + type.getSimpleName();
+
+    return type.getSimpleName().toString();
+  }
+
+  private boolean isPrivate(final TypeElement type) {
+    for(Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+      if(element.getModifiers().contains(Modifier.PRIVATE)) return true;
+    }
+
+    return false;
+  }
+
+  private AnnotationMirror findAnnotation(final Element element, final String annotationTypeName) {
+    for(final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      if(((TypeElement)annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationTypeName)) return annotation;
+    }
+
+    return null;
+  }
+
+  private Object value(final AnnotationMirror annotation, final String name) {
+    for(final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(annotation).entrySet()) {
+      if(entry.getKey().getSimpleName().contentEquals(name)) return entry.getValue().getValue();
+    }
+
+    return null;
+  }
+
+  private String stringValue(final AnnotationMirror annotation, final String name) {
+    return (String)value(annotation, name);
+  }
+
+  private boolean booleanValue(final AnnotationMirror annotation, final String name) {
+    return Boolean.TRUE.equals(value(annotation, name));
+  }
+
+  private String literal(final String value) {
+    return elements.getConstantExpression(value);
+  }
+
+  private void error(final Element element, final String format, final Object... arguments) {
+    messager.printMessage(Diagnostic.Kind.ERROR, String.format(format, arguments), element);
+  }
+
+  private void note(final Element element, final String format, final Object... arguments) {
+    messager.printMessage(Diagnostic.Kind.NOTE, String.format(format, arguments), element);
+  }
+
+  // Overrides
+  //--------------------------------------------------
+
+  // AbstractProcessor
+  //
+
+  @Override
+  public synchronized void init(final ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+
+    this.elements = processingEnv.getElementUtils();
+    this.types = processingEnv.getTypeUtils();
+    this.messager = processingEnv.getMessager();
+    this.filer = processingEnv.getFiler();
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+    final Set<TypeElement> modelTypes = new LinkedHashSet<>();
+
+    for(final TypeElement annotation : annotations) {
+      for(final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        final Element enclosingElement = element.getEnclosingElement();
+
+        if(enclosingElement instanceof TypeElement) modelTypes.add((TypeElement)enclosingElement);
+      }
+    }
+
+    for(final TypeElement modelType : modelTypes) {
+      if(processedModelTypes.add(modelType.getQualifiedName().toString())) processModelType(modelType);
+    }
+
+    return false;
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+}